@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpErrorResponse } from '@angular/common/http';
-import { Observable, throwError, timeout, catchError } from 'rxjs';
+import { HttpClient, HttpErrorResponse, HttpResponse } from '@angular/common/http';
+import { Observable, EMPTY, throwError, timeout, catchError, expand, map, reduce } from 'rxjs';
 
 @Injectable({
   providedIn: 'root'
@@ -62,8 +62,24 @@ export class ApiService {
     return this.http.post(`${this.baseUrl}/orders/${orderId}/checkout`, {});
   }
 
+  // /orders is paginated; follow the X-Next-Cursor header until the last page
   getAllOrders(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.baseUrl}/orders`);
+    const fetchPage = (cursor?: string) => {
+      let url = `${this.baseUrl}/orders?limit=200`;
+      if (cursor) {
+        url += `&cursor=${encodeURIComponent(cursor)}`;
+      }
+      return this.http.get<any[]>(url, { observe: 'response' });
+    };
+
+    return fetchPage().pipe(
+      expand((response: HttpResponse<any[]>) => {
+        const next = response.headers.get('X-Next-Cursor');
+        return next ? fetchPage(next) : EMPTY;
+      }),
+      map((response: HttpResponse<any[]>) => response.body ?? []),
+      reduce((all: any[], page: any[]) => all.concat(page), [])
+    );
   }
 
   getOrdersByStatus(status: string): Observable<any[]> {
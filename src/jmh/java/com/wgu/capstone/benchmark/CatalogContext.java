@@ -0,0 +1,45 @@
+package com.wgu.capstone.benchmark;
+
+import com.wgu.capstone.CapstoneApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application on its own in-memory H2 database, filled by the
+ * synthetic catalog generator. Settings are passed as command-line arguments
+ * so they override application.properties.
+ */
+final class CatalogContext {
+
+    private CatalogContext() {
+    }
+
+    // No web server, no history, and enough stock that saveQuote never runs out during a run
+    static ConfigurableApplicationContext start(int parts) {
+        return run(WebApplicationType.NONE,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + parts,
+                "--capstone.seed.synthetic.parts=" + parts,
+                "--capstone.seed.synthetic.orders=0",
+                "--capstone.seed.synthetic.mean-stock=1000000",
+                "--capstone.seed.synthetic.out-of-stock-ratio=0"
+        );
+    }
+
+    static ConfigurableApplicationContext run(WebApplicationType type, String... settings) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--capstone.seed.mode=SYNTHETIC",
+                // Quotes must stay put until they are checked
+                "--capstone.quote.expiry.ttl-minutes=0"
+        ));
+        args.addAll(List.of(settings));
+        return new SpringApplicationBuilder(CapstoneApplication.class)
+                .web(type)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,576 @@
+package com.wgu.capstone.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wgu.capstone.RequestThreadingReporter;
+import com.wgu.capstone.SyntheticCatalogGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test of the REST API. Boots the application on a
+ * random port with a synthetic catalog, sends requests at a fixed mean
+ * arrival rate (Poisson) regardless of how fast responses come back, and
+ * records each request's latency from its scheduled start, so queueing
+ * delay is counted instead of hidden.
+ *
+ * Afterwards the stock invariants are checked against the database and a
+ * report is printed and written as JSON. The exit code is 1 if an invariant
+ * fails. Run with
+ *
+ *   ./mvnw -Pbenchmarks test-compile exec:exec@load -Dload.args="--rate=300 --duration=60"
+ *
+ * Options (defaults in brackets): parts [10000], orders [0], rate requests/s
+ * [200], duration s [60], warmup s [10], concurrency [64],
+ * mix [search:50,compare:30,quote:15,checkout:5], hot-offers [100],
+ * seed [42], report [target/load-report.json], threads
+ * [platform|virtual|both], tomcat-threads [Tomcat's default].
+ *
+ * threads=both runs the same load against platform and then virtual request
+ * threads and prints throughput and tail latency side by side; it needs
+ * Java 21 for the virtual run to be real (the report says which it got).
+ * Pair it with a concurrency above the Tomcat thread count, e.g.
+ * --concurrency=1000 --tomcat-threads=50, to see the thread ceiling.
+ *
+ * Admission control is switched on for the run (it is off by default), so
+ * requests shed with 503 are counted apart from errors. The per-client rate limit is off: one driver stands in for
+ * many clients.
+ */
+public final class LoadDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final String[] NAME_QUERIES = {"pump", "valve", "element", "switch", "belt", "filter", "door"};
+
+    private final Settings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Long> quotesToCheckOut = new ConcurrentLinkedQueue<>();
+    private final LongAdder quotedQuantity = new LongAdder();
+    private final LongAdder checkedOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private String baseUrl;
+    private long offers;
+    private volatile boolean recording;
+
+    private LoadDriver(Settings settings) {
+        this.settings = settings;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        Map<String, Map<String, Object>> reports = new LinkedHashMap<>();
+        for (boolean virtualThreads : settings.threads.virtualThreadModes()) {
+            String mode = virtualThreads ? "virtual" : "platform";
+            List<String> arguments = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--capstone.seed.synthetic.seed=" + settings.seed,
+                    "--capstone.seed.synthetic.parts=" + settings.parts,
+                    "--capstone.seed.synthetic.orders=" + settings.orders,
+                    "--capstone.admission.enabled=true",
+                    "--capstone.admission.client.rate-per-second=0"));
+            if (settings.tomcatThreads > 0) {
+                arguments.add("--server.tomcat.threads.max=" + settings.tomcatThreads);
+            }
+            try (ConfigurableApplicationContext context =
+                         CatalogContext.run(WebApplicationType.SERVLET, arguments.toArray(String[]::new))) {
+                reports.put(mode, new LoadDriver(settings).run(context, virtualThreads));
+            }
+        }
+        if (reports.size() > 1) {
+            printComparison(reports);
+        }
+
+        File file = new File(settings.reportPath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file, reports.size() == 1 ? reports.values().iterator().next() : Map.of("runs", reports));
+        System.out.println("Report written to " + file.getAbsolutePath());
+
+        boolean passed = reports.values().stream().allMatch(report -> Boolean.TRUE.equals(report.get("passed")));
+        System.exit(passed ? 0 : 1);
+    }
+
+    private Map<String, Object> run(ConfigurableApplicationContext context, boolean virtualThreads) throws Exception {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        offers = jdbc.queryForObject("SELECT COUNT(*) FROM part_suppliers", Long.class);
+        Baseline baseline = Baseline.capture(jdbc);
+
+        String threads = RequestThreadingReporter.describe(virtualThreads, Runtime.version().feature());
+        System.out.printf("Load: %,d req/s for %ds (+%ds warmup), %d workers, mix %s, %,d parts, %,d offers, %s threads%n",
+                (long) settings.rate, settings.durationSeconds, settings.warmupSeconds,
+                settings.concurrency, settings.mix, settings.parts, offers, threads);
+
+        long elapsedNanos = drive();
+
+        List<Check> checks = baseline.verify(jdbc, quotedQuantity.sum(), checkedOut.sum());
+        Map<String, Object> report = report(elapsedNanos, checks);
+        report.put("threads", threads);
+        report.put("passed", checks.stream().allMatch(Check::passed));
+        printReport(report, checks);
+        return report;
+    }
+
+    // ===== Traffic =====
+
+    private long drive() throws InterruptedException {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(settings.concurrency, settings.concurrency,
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.concurrency * 1000));
+        SplittableRandom random = new SplittableRandom(settings.seed);
+
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds);
+        double meanGapNanos = 1e9 / settings.rate;
+
+        long scheduled = start;
+        while (scheduled < end) {
+            long now = System.nanoTime();
+            if (scheduled > now) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            recording = scheduled >= warmupEnd;
+
+            Operation operation = settings.mix.pick(random);
+            long requestSeed = random.nextLong();
+            long intendedStart = scheduled;
+            boolean record = recording;
+            try {
+                workers.execute(() -> send(operation, new SplittableRandom(requestSeed), intendedStart, record));
+            } catch (RejectedExecutionException e) {
+                if (record) {
+                    dropped.increment();
+                }
+            }
+            // Exponential gaps give Poisson arrivals
+            scheduled += (long) (-meanGapNanos * Math.log(1 - random.nextDouble()));
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(2, TimeUnit.MINUTES);
+        return System.nanoTime() - warmupEnd;
+    }
+
+    private void send(Operation operation, SplittableRandom random, long intendedStart, boolean record) {
+        Operation actual = operation;
+        HttpRequest request;
+        Long checkoutId = null;
+        if (operation == Operation.CHECKOUT) {
+            checkoutId = quotesToCheckOut.poll();
+            // Nothing quoted yet: quote instead, so the arrival is not lost
+            actual = checkoutId != null ? Operation.CHECKOUT : Operation.QUOTE;
+        }
+        int quantity = 1 + random.nextInt(3);
+
+        request = switch (actual) {
+            case SEARCH -> get("/parts/search?limit=20&query=" + searchQuery(random));
+            case COMPARE -> get("/parts/" + SyntheticCatalogGenerator.partId(random.nextInt(settings.parts))
+                    + "/compare?sort=BEST_VALUE");
+            case QUOTE -> post("/quotes", "{\"partSupplierId\":" + pickOffer(random)
+                    + ",\"quantity\":" + quantity + ",\"isCartItem\":false}");
+            case CHECKOUT -> post("/orders/" + checkoutId + "/checkout", "");
+        };
+
+        Outcome outcome;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = outcome(response);
+            if (outcome == Outcome.OK && actual == Operation.QUOTE) {
+                JsonNode order = objectMapper.readTree(response.body());
+                quotedQuantity.add(quantity);
+                quotesToCheckOut.add(order.get("orderId").asLong());
+            } else if (outcome == Outcome.OK && actual == Operation.CHECKOUT) {
+                checkedOut.increment();
+            }
+        } catch (IOException e) {
+            outcome = Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (record) {
+            long micros = Math.min((System.nanoTime() - intendedStart) / 1000, MAX_LATENCY_MICROS);
+            stats.get(actual).record(micros, outcome);
+        }
+    }
+
+    private String searchQuery(SplittableRandom random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> SyntheticCatalogGenerator.partId(random.nextInt(settings.parts));
+            case 1 -> SyntheticCatalogGenerator.partId(random.nextInt(settings.parts)).substring(0, 8);
+            default -> NAME_QUERIES[random.nextInt(NAME_QUERIES.length)];
+        };
+    }
+
+    // Half of all quotes go to a small hot set, so stock updates actually contend
+    private long pickOffer(SplittableRandom random) {
+        long hot = Math.min(settings.hotOffers, offers);
+        if (hot > 0 && random.nextBoolean()) {
+            return 1 + random.nextLong(hot);
+        }
+        return 1 + random.nextLong(offers);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // Running out of stock is an expected answer under load; the API reports it as a 500 with this message
+    private static Outcome outcome(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status < 300) {
+            return Outcome.OK;
+        }
+        if (status == 503 && response.headers().firstValue("Retry-After").isPresent()) {
+            return Outcome.SHED;
+        }
+        if (status < 500 || response.body().contains("Not enough stock")) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.ERROR;
+    }
+
+    // ===== Report =====
+
+    private Map<String, Object> report(long elapsedNanos, List<Check> checks) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings.describe());
+        report.put("measuredSeconds", Math.round(seconds * 10) / 10.0);
+        report.put("dropped", dropped.sum());
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            total.add(histogram);
+            endpoints.put(entry.getKey().label, entry.getValue().summary(histogram, seconds));
+        }
+        report.put("endpoints", endpoints);
+        report.put("overall", Stats.latencies(total, seconds));
+
+        List<Map<String, Object>> invariants = new ArrayList<>();
+        for (Check check : checks) {
+            invariants.add(Map.of("name", check.name, "passed", check.passed, "detail", check.detail));
+        }
+        report.put("invariants", invariants);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printReport(Map<String, Object> report, List<Check> checks) {
+        System.out.printf("%n%-34s %8s %9s %9s %9s %9s %9s %6s %6s %6s %6s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "ok", "rej", "shed", "err");
+        Map<String, Object> endpoints = (Map<String, Object>) report.get("endpoints");
+        endpoints.forEach((name, value) -> printRow(name, (Map<String, Object>) value));
+        printRow("overall", (Map<String, Object>) report.get("overall"));
+        System.out.println("dropped (worker queue full): " + report.get("dropped"));
+
+        System.out.println();
+        for (Check check : checks) {
+            System.out.printf("[%s] %s - %s%n", check.passed ? "PASS" : "FAIL", check.name, check.detail);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printComparison(Map<String, Map<String, Object>> reports) {
+        System.out.printf("%n%-10s %9s %9s %9s %9s %8s %8s  %s%n",
+                "mode", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors", "dropped", "threads");
+        reports.forEach((mode, report) -> {
+            Map<String, Object> overall = (Map<String, Object>) report.get("overall");
+            long errors = ((Map<String, Map<String, Object>>) report.get("endpoints")).values().stream()
+                    .mapToLong(endpoint -> (Long) endpoint.get("errors"))
+                    .sum();
+            System.out.printf("%-10s %9.1f %9.2f %9.2f %9.2f %8d %8d  %s%n", mode,
+                    overall.get("throughput"), overall.get("p50Ms"), overall.get("p99Ms"), overall.get("p999Ms"),
+                    errors, report.get("dropped"), report.get("threads"));
+        });
+    }
+
+    private static void printRow(String name, Map<String, Object> row) {
+        System.out.printf("%-34s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %6s %6s %6s %6s%n", name,
+                row.get("count"), row.get("throughput"), row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"),
+                row.get("maxMs"), row.getOrDefault("ok", ""), row.getOrDefault("rejected", ""),
+                row.getOrDefault("shed", ""), row.getOrDefault("errors", ""));
+    }
+
+    // ===== Model =====
+
+    private enum Operation {
+        SEARCH("GET /parts/search"),
+        COMPARE("GET /parts/{id}/compare"),
+        QUOTE("POST /quotes"),
+        CHECKOUT("POST /orders/{id}/checkout");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private enum Outcome { OK, REJECTED, SHED, ERROR, FAILED }
+
+    private static final class Stats {
+        private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+
+        Stats() {
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        void record(long micros, Outcome outcome) {
+            recorder.recordValue(micros);
+            outcomes.get(outcome).increment();
+        }
+
+        Map<String, Object> summary(Histogram histogram, double seconds) {
+            Map<String, Object> summary = latencies(histogram, seconds);
+            summary.put("ok", outcomes.get(Outcome.OK).sum());
+            summary.put("rejected", outcomes.get(Outcome.REJECTED).sum());
+            summary.put("shed", outcomes.get(Outcome.SHED).sum());
+            summary.put("errors", outcomes.get(Outcome.ERROR).sum() + outcomes.get(Outcome.FAILED).sum());
+            return summary;
+        }
+
+        static Map<String, Object> latencies(Histogram histogram, double seconds) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("throughput", histogram.getTotalCount() / seconds);
+            summary.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            summary.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+            summary.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            summary.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+            summary.put("maxMs", histogram.getMaxValue() / 1000.0);
+            return summary;
+        }
+    }
+
+    private record Check(String name, boolean passed, String detail) {
+    }
+
+    /**
+     * Stock and reservations before the run, kept in the database so the
+     * checks afterwards are plain SQL.
+     */
+    private record Baseline(long maxOrderId) {
+
+        static Baseline capture(JdbcTemplate jdbc) {
+            jdbc.execute("CREATE TABLE load_baseline AS SELECT ps.part_supplier_id, ps.num_in_stock, " +
+                    "COALESCE((SELECT SUM(i.quantity) FROM order_items i WHERE i.part_supplier_id = ps.part_supplier_id), 0) AS reserved " +
+                    "FROM part_suppliers ps");
+            return new Baseline(jdbc.queryForObject("SELECT COALESCE(MAX(order_id), 0) FROM orders", Long.class));
+        }
+
+        List<Check> verify(JdbcTemplate jdbc, long quotedQuantity, long checkedOut) {
+            List<Check> checks = new ArrayList<>();
+
+            long negative = jdbc.queryForObject("SELECT COUNT(*) FROM part_suppliers WHERE num_in_stock < 0", Long.class);
+            checks.add(new Check("no negative stock", negative == 0, negative + " offers below zero"));
+
+            // Every unit that left stock is held by an order item, and nothing else moved it
+            long unbalanced = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM load_baseline b JOIN part_suppliers ps ON ps.part_supplier_id = b.part_supplier_id " +
+                    "WHERE b.num_in_stock - ps.num_in_stock <> " +
+                    "COALESCE((SELECT SUM(i.quantity) FROM order_items i WHERE i.part_supplier_id = b.part_supplier_id), 0) - b.reserved",
+                    Long.class);
+            checks.add(new Check("stock taken equals quantity ordered, per offer", unbalanced == 0,
+                    unbalanced + " offers out of balance"));
+
+            long taken = jdbc.queryForObject("SELECT COALESCE(SUM(b.num_in_stock - ps.num_in_stock), 0) " +
+                    "FROM load_baseline b JOIN part_suppliers ps ON ps.part_supplier_id = b.part_supplier_id", Long.class);
+            checks.add(new Check("stock taken equals quantity of acknowledged quotes", taken == quotedQuantity,
+                    "database " + taken + ", client " + quotedQuantity));
+
+            long badTotals = jdbc.queryForObject("SELECT COUNT(*) FROM orders o WHERE o.order_id > ? AND (" +
+                    "o.subtotal_cents <> COALESCE((SELECT SUM(i.quantity * i.unit_price_cents) FROM order_items i WHERE i.order_id = o.order_id), 0) " +
+                    "OR o.total_cents <> o.subtotal_cents + o.tax_cents)", Long.class, maxOrderId);
+            checks.add(new Check("new order totals match their items", badTotals == 0, badTotals + " orders wrong"));
+
+            long newOrders = jdbc.queryForObject("SELECT COUNT(*) FROM orders WHERE order_id > ? AND status = 'NEW'",
+                    Long.class, maxOrderId);
+            checks.add(new Check("checked-out orders are NEW", newOrders == checkedOut,
+                    "database " + newOrders + ", client " + checkedOut));
+            return checks;
+        }
+    }
+
+    private static final class Mix {
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private final String text;
+
+        Mix(String text) {
+            Map<Operation, Integer> weights = new LinkedHashMap<>();
+            for (String entry : text.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Mix entries look like search:50, got: " + entry);
+                }
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+            }
+            operations = weights.keySet().toArray(Operation[]::new);
+            cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                int weight = weights.get(operations[i]);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Mix weights must not be negative");
+                }
+                sum += weight;
+                cumulativeWeights[i] = sum;
+            }
+            if (sum == 0) {
+                throw new IllegalArgumentException("Mix needs at least one positive weight");
+            }
+            this.text = text;
+        }
+
+        Operation pick(SplittableRandom random) {
+            int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < operations.length; i++) {
+                if (ticket < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("unreachable");
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    // "both" runs platform first, then virtual, each against a fresh database
+    private enum Threads {
+        PLATFORM(false),
+        VIRTUAL(true),
+        BOTH(false, true);
+
+        private final boolean[] virtualThreadModes;
+
+        Threads(boolean... virtualThreadModes) {
+            this.virtualThreadModes = virtualThreadModes;
+        }
+
+        List<Boolean> virtualThreadModes() {
+            List<Boolean> modes = new ArrayList<>();
+            for (boolean mode : virtualThreadModes) {
+                modes.add(mode);
+            }
+            return modes;
+        }
+    }
+
+    private static final class Settings {
+        int parts = 10_000;
+        int orders = 0;
+        double rate = 200;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        int concurrency = 64;
+        Mix mix = new Mix("search:50,compare:30,quote:15,checkout:5");
+        long hotOffers = 100;
+        long seed = 42;
+        String reportPath = "target/load-report.json";
+        Threads threads = Threads.PLATFORM;
+        int tomcatThreads = 0;
+
+        static Settings parse(String[] args) {
+            Settings settings = new Settings();
+            for (String arg : args) {
+                for (String option : arg.trim().split("\\s+")) {
+                    if (option.isEmpty()) {
+                        continue;
+                    }
+                    if (!option.startsWith("--") || !option.contains("=")) {
+                        throw new IllegalArgumentException("Options look like --name=value, got: " + option);
+                    }
+                    String name = option.substring(2, option.indexOf('='));
+                    String value = option.substring(option.indexOf('=') + 1);
+                    switch (name) {
+                        case "parts" -> settings.parts = Integer.parseInt(value);
+                        case "orders" -> settings.orders = Integer.parseInt(value);
+                        case "rate" -> settings.rate = Double.parseDouble(value);
+                        case "duration" -> settings.durationSeconds = Integer.parseInt(value);
+                        case "warmup" -> settings.warmupSeconds = Integer.parseInt(value);
+                        case "concurrency" -> settings.concurrency = Integer.parseInt(value);
+                        case "mix" -> settings.mix = new Mix(value);
+                        case "hot-offers" -> settings.hotOffers = Long.parseLong(value);
+                        case "seed" -> settings.seed = Long.parseLong(value);
+                        case "report" -> settings.reportPath = value;
+                        case "threads" -> settings.threads = Threads.valueOf(value.toUpperCase());
+                        case "tomcat-threads" -> settings.tomcatThreads = Integer.parseInt(value);
+                        default -> throw new IllegalArgumentException("Unknown option: --" + name);
+                    }
+                }
+            }
+            if (settings.parts < 1 || settings.rate <= 0 || settings.concurrency < 1 || settings.durationSeconds < 1) {
+                throw new IllegalArgumentException("parts, rate, concurrency and duration must be positive");
+            }
+            return settings;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> described = new LinkedHashMap<>();
+            described.put("parts", parts);
+            described.put("orders", orders);
+            described.put("rate", rate);
+            described.put("durationSeconds", durationSeconds);
+            described.put("warmupSeconds", warmupSeconds);
+            described.put("concurrency", concurrency);
+            described.put("mix", mix.toString());
+            described.put("hotOffers", hotOffers);
+            described.put("seed", seed);
+            described.put("tomcatThreads", tomcatThreads);
+            return described;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.wgu.capstone.benchmark;
+
+import com.wgu.capstone.service.OfferRanker;
+import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.dto.SupplierOptionDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferRankerBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int offers;
+
+    @Param({"CHEAPEST", "BEST_VALUE"})
+    public SortMode sortMode;
+
+    private final OfferRanker offerRanker = new OfferRanker(0.5, 0.3, 0.2);
+    private List<SupplierOptionDto> options;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        options = new ArrayList<>(offers);
+        for (long i = 1; i <= offers; i++) {
+            options.add(new SupplierOptionDto(i, i, "Supplier " + i,
+                    BigDecimal.valueOf(1000 + random.nextInt(9000), 2), random.nextInt(50), 1 + random.nextInt(10)));
+        }
+    }
+
+    // What a cached comparison holds: every offer in rank order
+    @Benchmark
+    public List<SupplierOptionDto> rankAll() {
+        return offerRanker.rank(options, sortMode);
+    }
+}
@@ -0,0 +1,70 @@
+package com.wgu.capstone.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.entity.Order;
+import com.wgu.capstone.entity.OrderItem;
+import com.wgu.capstone.entity.Part;
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.service.dto.OrderLineDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes 100 orders of {@code items} lines each, once as entity graphs
+ * (what the single-order endpoints return) and once as the list-endpoint DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    private static final int ORDERS = 100;
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    // Same defaults Spring Boot applies to its own ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Order> orders;
+    private List<OrderSummaryDto> summaries;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>(ORDERS);
+        summaries = new ArrayList<>(ORDERS);
+        for (long id = 1; id <= ORDERS; id++) {
+            Order order = new Order();
+            order.setStatus(OrderStatus.QUOTE);
+            // No timestamps, like the unsaved entities (audit fields are only set on save)
+            OrderSummaryDto summary = new OrderSummaryDto(id, OrderStatus.QUOTE, null, null, 0, 0, false);
+            for (long line = 1; line <= items; line++) {
+                Part part = new Part("WPW1034" + line, "Washer Drain Pump " + line);
+                order.addItem(new OrderItem(order, part, 2, new BigDecimal("49.99")));
+                summary.addItem(new OrderLineDto(id, id * 1000 + line, part.getPartId(), part.getPartName(),
+                        2, 4999, line, "AppliancePartsPros"));
+            }
+            orders.add(order);
+            summaries.add(summary);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrderEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,53 @@
+package com.wgu.capstone.benchmark;
+
+import com.wgu.capstone.entity.Order;
+import com.wgu.capstone.entity.OrderItem;
+import com.wgu.capstone.entity.Part;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalsBenchmark {
+
+    private static final BigDecimal PRICE = new BigDecimal("49.99");
+    private static final BigDecimal OTHER_PRICE = new BigDecimal("52.49");
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private Order order;
+    private OrderItem repriced;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() {
+        order = new Order();
+        Part part = new Part("WPW10348269", "Washer Drain Pump");
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem(order, part, 1 + i % 3, PRICE);
+            order.addItem(item);
+            repriced = item;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTotals() {
+        order.recalculateTotals();
+        return order.getTotalAmount();
+    }
+
+    // The incremental path used when a quote's supplier changes
+    @Benchmark
+    public BigDecimal repriceOneItem() {
+        toggle = !toggle;
+        repriced.setUnitPrice(toggle ? OTHER_PRICE : PRICE);
+        return order.getTotalAmount();
+    }
+}
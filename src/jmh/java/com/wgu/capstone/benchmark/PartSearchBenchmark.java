@@ -0,0 +1,70 @@
+package com.wgu.capstone.benchmark;
+
+import com.wgu.capstone.SyntheticCatalogGenerator;
+import com.wgu.capstone.service.ComparisonCache;
+import com.wgu.capstone.service.PartSearchService;
+import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.dto.PartComparisonDto;
+import com.wgu.capstone.service.dto.PartSearchPageDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int parts;
+
+    private ConfigurableApplicationContext context;
+    private PartSearchService partSearchService;
+    private ComparisonCache comparisonCache;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = CatalogContext.start(parts);
+        partSearchService = context.getBean(PartSearchService.class);
+        comparisonCache = context.getBean(ComparisonCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private String nextPartId() {
+        next = (next + 7919) % parts;
+        return SyntheticCatalogGenerator.partId(next);
+    }
+
+    // A full part number takes the exact-match path
+    @Benchmark
+    public PartSearchPageDto searchByPartNumber() {
+        return partSearchService.searchParts(nextPartId(), 50, null);
+    }
+
+    @Benchmark
+    public PartSearchPageDto searchByName() {
+        return partSearchService.searchParts("drain pump", 50, null);
+    }
+
+    @Benchmark
+    public PartComparisonDto comparisonCached() {
+        return partSearchService.getComparisonForPart(SyntheticCatalogGenerator.partId(0), SortMode.BEST_VALUE);
+    }
+
+    // Invalidating first forces the query plus ranking on every call
+    @Benchmark
+    public PartComparisonDto comparisonUncached() {
+        String partId = nextPartId();
+        comparisonCache.invalidate(partId);
+        return partSearchService.getComparisonForPart(partId, SortMode.BEST_VALUE);
+    }
+}
@@ -0,0 +1,45 @@
+package com.wgu.capstone.benchmark;
+
+import com.wgu.capstone.entity.Order;
+import com.wgu.capstone.repository.PartSupplierRepository;
+import com.wgu.capstone.service.QuoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int parts;
+
+    private ConfigurableApplicationContext context;
+    private QuoteService quoteService;
+    private long offers;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = CatalogContext.start(parts);
+        quoteService = context.getBean(QuoteService.class);
+        offers = context.getBean(PartSupplierRepository.class).count();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // One reservation plus order and item inserts; offers are visited in a spread-out order
+    @Benchmark
+    public Order saveQuote() {
+        next = (next + 7919) % offers;
+        return quoteService.saveQuote(next + 1, 1, false);
+    }
+}
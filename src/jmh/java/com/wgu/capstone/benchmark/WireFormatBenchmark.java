@@ -0,0 +1,100 @@
+package com.wgu.capstone.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.service.OrderService;
+import com.wgu.capstone.service.WireFormat;
+import com.wgu.capstone.service.dto.OrderPageDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes the first {@code orders} orders of a synthetic history, as the
+ * /orders export sends them, in each wire format with and without gzip (the
+ * same default level the server compresses with). Time is per encode; the
+ * bytes on the wire are printed once per trial as "wire bytes: ...".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"1000", "10000"})
+    public int orders;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public WireFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private List<OrderSummaryDto> summaries;
+    private ObjectMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (ConfigurableApplicationContext context = CatalogContext.run(WebApplicationType.NONE,
+                "--spring.datasource.url=jdbc:h2:mem:wire-format-" + orders,
+                "--capstone.seed.synthetic.parts=10000",
+                "--capstone.seed.synthetic.orders=" + orders)) {
+            summaries = loadOrders(context.getBean(OrderService.class));
+            mapper = format.mapperFrom(context.getBean(ObjectMapper.class));
+        }
+
+        long items = summaries.stream().mapToLong(summary -> summary.getItems().size()).sum();
+        System.out.printf("%nwire bytes: %s%s, %,d orders, %,d items: %,d bytes%n",
+                format, gzip ? "+gzip" : "", summaries.size(), items, encode(new CountingOutputStream()));
+    }
+
+    // Every page of the paged endpoint, newest first, exactly as clients receive it
+    private static List<OrderSummaryDto> loadOrders(OrderService orderService) {
+        List<OrderSummaryDto> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageDto page = orderService.getOrders(PAGE_SIZE, cursor);
+            all.addAll(page.getOrders());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        return encode(new CountingOutputStream());
+    }
+
+    private long encode(CountingOutputStream counter) throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(counter, 8192) : counter;
+        mapper.writeValue(out, summaries);
+        return counter.bytes;
+    }
+
+    // Measures the wire size without keeping the bytes around
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.wgu.capstone.entity.Supplier;
 import com.wgu.capstone.repository.PartRepository;
 import com.wgu.capstone.repository.PartSupplierRepository;
 import com.wgu.capstone.repository.SupplierRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -19,17 +20,27 @@ public class DataLoader implements CommandLineRunner {
     private final PartRepository partRepository;
     private final SupplierRepository supplierRepository;
     private final PartSupplierRepository partSupplierRepository;
+    private final SyntheticCatalogGenerator syntheticCatalogGenerator;
+    private final SeedMode seedMode;
 
     public DataLoader(PartRepository partRepository,
                       SupplierRepository supplierRepository,
-                      PartSupplierRepository partSupplierRepository) {
+                      PartSupplierRepository partSupplierRepository,
+                      SyntheticCatalogGenerator syntheticCatalogGenerator,
+                      @Value("${capstone.seed.mode:SAMPLE}") SeedMode seedMode) {
         this.partRepository = partRepository;
         this.supplierRepository = supplierRepository;
         this.partSupplierRepository = partSupplierRepository;
+        this.syntheticCatalogGenerator = syntheticCatalogGenerator;
+        this.seedMode = seedMode != null ? seedMode : SeedMode.SAMPLE;
     }
 
     @Override
     public void run(String... args) {
+        if (seedMode == SeedMode.SYNTHETIC) {
+            syntheticCatalogGenerator.generate();
+            return;
+        }
 
         // ---- PARTS ----
         List<Part> parts = new ArrayList<>();
@@ -178,4 +189,11 @@ public class DataLoader implements CommandLineRunner {
             return new BigDecimal("40.00");
         }
     }
-}
\ No newline at end of file
+
+    public enum SeedMode {
+        // The hand-written demo catalog in run()
+        SAMPLE,
+        // A generated catalog sized by capstone.seed.synthetic.*
+        SYNTHETIC
+    }
+}
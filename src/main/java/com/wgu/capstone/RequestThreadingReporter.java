@@ -0,0 +1,39 @@
+package com.wgu.capstone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Says at startup which threads serve requests. Spring Boot quietly ignores
+ * spring.threads.virtual.enabled below Java 21, so that case is called out.
+ */
+@Component
+public class RequestThreadingReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestThreadingReporter.class);
+
+    private final boolean virtualThreadsEnabled;
+
+    public RequestThreadingReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        log.info("Request threads: {}", describe(virtualThreadsEnabled, Runtime.version().feature()));
+    }
+
+    public static String describe(boolean virtualThreadsEnabled, int javaVersion) {
+        if (!virtualThreadsEnabled) {
+            return "platform";
+        }
+        if (javaVersion < 21) {
+            return "platform (virtual threads were requested but need Java 21, running " + javaVersion + ")";
+        }
+        return "virtual";
+    }
+}
@@ -0,0 +1,368 @@
+package com.wgu.capstone;
+
+import com.wgu.capstone.entity.Money;
+import com.wgu.capstone.entity.Order;
+import com.wgu.capstone.entity.enums.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with a synthetic catalog - parts, suppliers, supplier
+ * offers and historical orders - at whatever scale is configured. The same
+ * seed always produces the same rows.
+ *
+ * Rows are written with batched JDBC inserts and explicit IDs, bypassing JPA
+ * (whose IDENTITY keys cannot be batched). The ID generators are moved past
+ * the generated rows afterwards so the application can keep inserting.
+ */
+@Component
+public class SyntheticCatalogGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticCatalogGenerator.class);
+
+    // Matches the ORDER_ITEMS sequence allocation size in OrderItem
+    private static final int ORDER_ITEM_ID_ALLOCATION = 50;
+
+    private static final long PROGRESS_INTERVAL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private static final Category[] CATEGORIES = {
+            new Category("WPW", "Washer", 5000, "Drain Pump", "Door Lock", "Water Inlet Valve", "Lid Switch",
+                    "Drive Belt", "Shock Absorber", "Agitator", "Control Board"),
+            new Category("DA97-", "Refrigerator", 3500, "Water Filter", "Door Gasket", "Ice Maker Assembly",
+                    "Thermostat", "Evaporator Fan Motor", "Defrost Heater", "Crisper Drawer", "Door Shelf"),
+            new Category("DC97-", "Dryer", 4000, "Heating Element", "Thermal Fuse", "Belt", "Door Switch",
+                    "Blower Wheel", "Idler Pulley", "Drum Roller", "Lint Screen"),
+            new Category("WD21X", "Dishwasher", 4500, "Circulation Pump", "Door Latch", "Spray Arm",
+                    "Float Switch", "Heating Element", "Rack Wheel", "Inlet Valve", "Detergent Dispenser"),
+            new Category("WB27X", "Oven", 3000, "Bake Element", "Broil Element", "Temperature Sensor",
+                    "Igniter", "Surface Burner", "Door Hinge", "Control Knob", "Convection Fan")
+    };
+
+    // Historical orders only; QUOTE orders would hold stock they never reserved
+    private static final OrderStatus[] ORDER_STATUSES = {
+            OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED,
+            OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED,
+            OrderStatus.PROCESSING, OrderStatus.NEW, OrderStatus.CANCELED
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Settings settings;
+    private final Clock clock;
+
+    @Autowired
+    public SyntheticCatalogGenerator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${capstone.seed.synthetic.seed:42}") long seed,
+            @Value("${capstone.seed.synthetic.parts:100000}") int parts,
+            @Value("${capstone.seed.synthetic.suppliers:50}") int suppliers,
+            @Value("${capstone.seed.synthetic.min-offers-per-part:3}") int minOffersPerPart,
+            @Value("${capstone.seed.synthetic.max-offers-per-part:8}") int maxOffersPerPart,
+            @Value("${capstone.seed.synthetic.price-spread:0.35}") double priceSpread,
+            @Value("${capstone.seed.synthetic.supplier-markup-spread:0.15}") double supplierMarkupSpread,
+            @Value("${capstone.seed.synthetic.mean-stock:15}") int meanStock,
+            @Value("${capstone.seed.synthetic.out-of-stock-ratio:0.05}") double outOfStockRatio,
+            @Value("${capstone.seed.synthetic.orders:200000}") int orders,
+            @Value("${capstone.seed.synthetic.max-items-per-order:5}") int maxItemsPerOrder,
+            @Value("${capstone.seed.synthetic.history-days:365}") int historyDays,
+            @Value("${capstone.seed.synthetic.batch-size:1000}") int batchSize
+    ) {
+        this(jdbcTemplate, new Settings(seed, parts, suppliers, minOffersPerPart, maxOffersPerPart,
+                priceSpread, supplierMarkupSpread, meanStock, outOfStockRatio, orders, maxItemsPerOrder,
+                historyDays, batchSize), Clock.systemUTC());
+    }
+
+    SyntheticCatalogGenerator(JdbcTemplate jdbcTemplate, Settings settings, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    public void generate() {
+        log.info("Generating synthetic catalog: {}", settings);
+        long start = System.nanoTime();
+
+        insertParts();
+        insertSuppliers();
+        Offers offers = insertOffers();
+        long items = insertOrders(offers);
+        advanceIdGenerators(offers.size(), items);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info(String.format("Synthetic catalog generated in %.1fs: %,d parts, %,d suppliers, %,d offers, %,d orders, %,d order items",
+                seconds, settings.parts(), settings.suppliers(), offers.size(), settings.orders(), items));
+    }
+
+    private void insertParts() {
+        try (BatchWriter writer = new BatchWriter("parts", settings.parts(),
+                "INSERT INTO parts (part_id, part_name) VALUES (?, ?)")) {
+            SplittableRandom random = random(1);
+            for (int i = 0; i < settings.parts(); i++) {
+                Category category = category(i);
+                String component = category.components()[random.nextInt(category.components().length)];
+                writer.add(partId(i), category.name() + " " + component);
+            }
+        }
+    }
+
+    private void insertSuppliers() {
+        try (BatchWriter writer = new BatchWriter("suppliers", settings.suppliers(),
+                "INSERT INTO suppliers (supplier_id, supplier_name, shipping_time) VALUES (?, ?, ?)")) {
+            SplittableRandom random = random(2);
+            for (int i = 1; i <= settings.suppliers(); i++) {
+                writer.add((long) i, String.format("Supplier %04d", i), 1 + random.nextInt(10));
+            }
+        }
+    }
+
+    private Offers insertOffers() {
+        SplittableRandom random = random(3);
+        int expected = settings.parts() * (settings.minOffersPerPart() + settings.maxOffersPerPart()) / 2;
+        Offers offers = new Offers(expected);
+
+        int[] supplierIds = new int[settings.suppliers()];
+        for (int i = 0; i < supplierIds.length; i++) {
+            supplierIds[i] = i + 1;
+        }
+
+        try (BatchWriter writer = new BatchWriter("part_suppliers", expected,
+                "INSERT INTO part_suppliers (part_supplier_id, part_id, supplier_id, part_cost, num_in_stock, version) " +
+                "VALUES (?, ?, ?, ?, ?, 0)")) {
+            for (int part = 0; part < settings.parts(); part++) {
+                // Log-normal around the category's typical price
+                double partPrice = category(part).basePriceCents() * Math.exp(settings.priceSpread() * random.nextGaussian());
+                int offerCount = Math.min(settings.suppliers(),
+                        random.nextInt(settings.minOffersPerPart(), settings.maxOffersPerPart() + 1));
+
+                for (int k = 0; k < offerCount; k++) {
+                    // Partial Fisher-Yates: the first offerCount slots are distinct suppliers
+                    int pick = random.nextInt(k, supplierIds.length);
+                    int supplierId = supplierIds[pick];
+                    supplierIds[pick] = supplierIds[k];
+                    supplierIds[k] = supplierId;
+
+                    double markup = 1.0 + settings.supplierMarkupSpread() * (2 * random.nextDouble() - 1);
+                    long priceCents = Math.max(100, Math.round(partPrice * markup));
+                    int stock = random.nextDouble() < settings.outOfStockRatio()
+                            ? 0
+                            : 1 + (int) (-(settings.meanStock() - 1) * Math.log(1 - random.nextDouble()));
+
+                    long offerId = offers.add(part, priceCents);
+                    writer.add(offerId, partId(part), (long) supplierId, Money.toDecimal(priceCents), stock);
+                }
+            }
+        }
+        return offers;
+    }
+
+    private long insertOrders(Offers offers) {
+        if (offers.size() == 0) {
+            return 0;
+        }
+        SplittableRandom random = random(4);
+        Instant now = clock.instant();
+        long historySeconds = Duration.ofDays(settings.historyDays()).toSeconds();
+        long itemId = 0;
+        List<Object[]> lines = new ArrayList<>(settings.maxItemsPerOrder());
+
+        try (BatchWriter orderWriter = new BatchWriter("orders", settings.orders(),
+                "INSERT INTO orders (order_id, status, created_at, updated_at, subtotal_cents, tax_cents, total_cents, is_cart_item) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE)");
+             BatchWriter itemWriter = new BatchWriter("order_items",
+                     (long) settings.orders() * (settings.maxItemsPerOrder() + 1) / 2,
+                     "INSERT INTO order_items (order_item_id, order_id, part_id, part_supplier_id, quantity, unit_price_cents) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)", orderWriter)) {
+            for (long orderId = 1; orderId <= settings.orders(); orderId++) {
+                Instant createdAt = now.minusSeconds(random.nextLong(historySeconds + 1));
+                Instant updatedAt = createdAt.plusSeconds(random.nextLong(Duration.ofDays(3).toSeconds()));
+                if (updatedAt.isAfter(now)) {
+                    updatedAt = now;
+                }
+
+                // Lines are drawn first for the totals, but written after their order row
+                lines.clear();
+                long subtotal = 0;
+                int lineCount = 1 + random.nextInt(settings.maxItemsPerOrder());
+                for (int line = 0; line < lineCount; line++) {
+                    int offer = random.nextInt(offers.size());
+                    int quantity = 1 + random.nextInt(3);
+                    long priceCents = offers.priceCents(offer);
+                    subtotal += Money.times(priceCents, quantity);
+                    lines.add(new Object[]{null, orderId, partId(offers.part(offer)), offers.id(offer), quantity, priceCents});
+                }
+
+                long tax = Order.taxCents(subtotal);
+                orderWriter.add(orderId, ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)].name(),
+                        Timestamp.from(createdAt), Timestamp.from(updatedAt), subtotal, tax, subtotal + tax);
+                for (Object[] line : lines) {
+                    line[0] = ++itemId;
+                    itemWriter.add(line);
+                }
+            }
+        }
+        return itemId;
+    }
+
+    // Generated rows carry explicit IDs, so the generators have not moved yet
+    private void advanceIdGenerators(long offers, long items) {
+        jdbcTemplate.execute("ALTER TABLE suppliers ALTER COLUMN supplier_id RESTART WITH " + (settings.suppliers() + 1));
+        jdbcTemplate.execute("ALTER TABLE part_suppliers ALTER COLUMN part_supplier_id RESTART WITH " + (offers + 1));
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN order_id RESTART WITH " + (settings.orders() + 1L));
+        // Leave a whole allocation block of headroom for Hibernate's pooled optimizer
+        jdbcTemplate.execute("ALTER SEQUENCE order_items_seq RESTART WITH " + (items + ORDER_ITEM_ID_ALLOCATION + 1));
+    }
+
+    // One independent stream per table, so changing one table's size leaves the others as they were
+    private SplittableRandom random(long stream) {
+        return new SplittableRandom(settings.seed() * 31 + stream);
+    }
+
+    private static Category category(int part) {
+        return CATEGORIES[part % CATEGORIES.length];
+    }
+
+    // ID of the n-th generated part (0-based), e.g. for picking parts to benchmark against
+    public static String partId(int part) {
+        return category(part).prefix() + String.format("%08d", part + 1);
+    }
+
+    record Settings(long seed, int parts, int suppliers, int minOffersPerPart, int maxOffersPerPart,
+                    double priceSpread, double supplierMarkupSpread, int meanStock, double outOfStockRatio,
+                    int orders, int maxItemsPerOrder, int historyDays, int batchSize) {
+
+        Settings {
+            if (parts < 0 || suppliers < 1 || orders < 0) {
+                throw new IllegalArgumentException("Synthetic catalog needs at least one supplier and non-negative counts");
+            }
+            if (minOffersPerPart < 1 || maxOffersPerPart < minOffersPerPart) {
+                throw new IllegalArgumentException("Offers per part must satisfy 1 <= min <= max");
+            }
+            if (priceSpread < 0 || supplierMarkupSpread < 0 || supplierMarkupSpread >= 1) {
+                throw new IllegalArgumentException("Price spreads must be non-negative and the markup spread below 1");
+            }
+            if (meanStock < 1 || outOfStockRatio < 0 || outOfStockRatio > 1) {
+                throw new IllegalArgumentException("Mean stock must be positive and the out-of-stock ratio in [0, 1]");
+            }
+            if (maxItemsPerOrder < 1 || historyDays < 0 || batchSize < 1) {
+                throw new IllegalArgumentException("Items per order and batch size must be positive");
+            }
+        }
+    }
+
+    private record Category(String prefix, String name, long basePriceCents, String... components) {
+    }
+
+    // Offer i has ID i + 1; only what historical orders need is kept, in primitive arrays
+    private static final class Offers {
+        private int[] parts;
+        private long[] prices;
+        private int size = 0;
+
+        Offers(int expected) {
+            parts = new int[Math.max(expected, 16)];
+            prices = new long[parts.length];
+        }
+
+        long add(int part, long priceCents) {
+            if (size == parts.length) {
+                parts = Arrays.copyOf(parts, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            parts[size] = part;
+            prices[size] = priceCents;
+            return ++size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long id(int offer) {
+            return offer + 1L;
+        }
+
+        int part(int offer) {
+            return parts[offer];
+        }
+
+        long priceCents(int offer) {
+            return prices[offer];
+        }
+    }
+
+    /**
+     * Collects rows into JDBC batches and reports progress and throughput.
+     * A writer for child rows flushes its parent writer first, so foreign keys
+     * always point at rows that are already inserted.
+     */
+    private final class BatchWriter implements AutoCloseable {
+        private final String table;
+        private final long expected;
+        private final String sql;
+        private final BatchWriter parent;
+        private final List<Object[]> batch;
+        private final long start = System.nanoTime();
+        private long lastReport = start;
+        private long written = 0;
+
+        BatchWriter(String table, long expected, String sql) {
+            this(table, expected, sql, null);
+        }
+
+        BatchWriter(String table, long expected, String sql, BatchWriter parent) {
+            this.table = table;
+            this.expected = expected;
+            this.sql = sql;
+            this.parent = parent;
+            this.batch = new ArrayList<>(settings.batchSize());
+        }
+
+        void add(Object... row) {
+            batch.add(row);
+            if (batch.size() == settings.batchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (parent != null) {
+                parent.flush();
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+            written += batch.size();
+            batch.clear();
+
+            long now = System.nanoTime();
+            if (now - lastReport >= PROGRESS_INTERVAL_NANOS) {
+                lastReport = now;
+                log.info(String.format("%s: %,d of ~%,d rows (%,.0f rows/s)", table, written, expected, rate(now)));
+            }
+        }
+
+        private double rate(long now) {
+            double seconds = Math.max(now - start, 1) / 1e9;
+            return written / seconds;
+        }
+
+        @Override
+        public void close() {
+            flush();
+            log.info(String.format("%s: %,d rows (%,.0f rows/s)", table, written, rate(System.nanoTime())));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.wgu.capstone.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.service.AdmissionControl;
+import com.wgu.capstone.service.AdmissionControl.Endpoint;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Runs API requests through {@link AdmissionControl} before they reach a
+ * controller. A refused request is answered at once with 429 or 503 and a
+ * {@code Retry-After} header, without touching the database. Clients are
+ * told apart by remote address; behind a proxy, set
+ * {@code server.forward-headers-strategy} so that is the real client.
+ *
+ * Streamed exports hold their permit only until streaming starts.
+ */
+@Component
+@ConditionalOnProperty(name = "capstone.admission.enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Endpoint endpoint = endpoint(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionControl.Permit permit;
+        try {
+            permit = admissionControl.admit(endpoint, request.getRemoteAddr());
+        } catch (AdmissionControl.Rejected rejected) {
+            reject(response, rejected);
+            return;
+        }
+        try (permit) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    // Health checks, the console and CORS preflights are never limited
+    static Endpoint endpoint(String method, String path) {
+        if (method.equals("OPTIONS")) {
+            return null;
+        }
+        boolean read = method.equals("GET") || method.equals("HEAD");
+        if (path.startsWith("/parts/")) {
+            return path.endsWith("/compare") ? Endpoint.COMPARE : Endpoint.SEARCH;
+        }
+        if (path.equals("/orders") || path.startsWith("/orders/")) {
+            return read ? Endpoint.ORDER_READS : Endpoint.ORDER_TRANSITIONS;
+        }
+        if (path.equals("/quotes") || path.startsWith("/quotes/") || path.equals("/cart") || path.startsWith("/cart/")) {
+            return read ? Endpoint.ORDER_READS : Endpoint.QUOTES;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, AdmissionControl.Rejected rejected) throws IOException {
+        response.setStatus(rejected.getStatus());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(rejected.getRetryAfterSeconds()));
+        // Refused before CORS handling runs, so browser clients need these to read the answer
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                Map.of("message", rejected.getMessage(), "status", Integer.toString(rejected.getStatus())));
+    }
+}
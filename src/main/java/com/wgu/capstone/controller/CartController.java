@@ -1,8 +1,14 @@
 package com.wgu.capstone.controller;
 
-import com.wgu.capstone.entity.Order;
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.service.OrderStreamWriter;
 import com.wgu.capstone.service.QuoteService;
+import com.wgu.capstone.service.WireFormat;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,14 +18,25 @@ import java.util.List;
 public class CartController {
 
     private final QuoteService quoteService;
+    private final OrderStreamWriter orderStreamWriter;
 
-    public CartController(QuoteService quoteService) {
+    public CartController(QuoteService quoteService, OrderStreamWriter orderStreamWriter) {
         this.quoteService = quoteService;
+        this.orderStreamWriter = orderStreamWriter;
     }
 
     @GetMapping
-    public List<Order> getCartItems() {
+    public List<OrderSummaryDto> getCartItems() {
         return quoteService.getCartItems();
     }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCartItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        WireFormat format = WireFormat.forAccept(accept);
+        return OrderController.streamed(format, out ->
+                orderStreamWriter.writeByStatusAndIsCartItem(OrderStatus.QUOTE, true, format, out));
+    }
 }
 
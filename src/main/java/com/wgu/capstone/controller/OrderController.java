@@ -1,21 +1,33 @@
 package com.wgu.capstone.controller;
 
+import com.wgu.capstone.controller.dto.BulkOrderRequest;
 import com.wgu.capstone.entity.Order;
 import com.wgu.capstone.entity.enums.OrderStatus;
 import com.wgu.capstone.service.OrderService;
+import com.wgu.capstone.service.OrderService.Transition;
+import com.wgu.capstone.service.OrderStreamWriter;
+import com.wgu.capstone.service.WireFormat;
+import com.wgu.capstone.service.dto.BulkOrderTransitionDto;
+import com.wgu.capstone.service.dto.OrderPageDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/orders")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = PartController.NEXT_CURSOR_HEADER)
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStreamWriter orderStreamWriter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderStreamWriter orderStreamWriter) {
         this.orderService = orderService;
+        this.orderStreamWriter = orderStreamWriter;
     }
 
     @PostMapping("/{orderId}/checkout")
@@ -38,16 +50,74 @@ public class OrderController {
         return orderService.cancelOrder(orderId);
     }
 
+    // ===== Bulk transitions: body holds either orderIds or a status filter =====
+
+    @PostMapping("/bulk/checkout")
+    public BulkOrderTransitionDto checkoutOrders(@RequestBody BulkOrderRequest request) {
+        return orderService.transitionOrders(Transition.CHECKOUT, request.getOrderIds(), request.getStatus());
+    }
+
+    @PostMapping("/bulk/process")
+    public BulkOrderTransitionDto processOrders(@RequestBody BulkOrderRequest request) {
+        return orderService.transitionOrders(Transition.PROCESS, request.getOrderIds(), request.getStatus());
+    }
+
+    @PostMapping("/bulk/complete")
+    public BulkOrderTransitionDto completeOrders(@RequestBody BulkOrderRequest request) {
+        return orderService.transitionOrders(Transition.COMPLETE, request.getOrderIds(), request.getStatus());
+    }
+
+    @PostMapping("/bulk/cancel")
+    public BulkOrderTransitionDto cancelOrders(@RequestBody BulkOrderRequest request) {
+        return orderService.transitionOrders(Transition.CANCEL, request.getOrderIds(), request.getStatus());
+    }
+
+    // Newest first, one page at a time; the cursor for the next page travels in a header
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<List<OrderSummaryDto>> getOrders(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        OrderPageDto page = orderService.getOrders(limit, cursor);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PartController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
+    }
+
+    // Every order in one response, written as it is read (?stream=true), in JSON, Smile or CBOR per Accept
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamOrders(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        WireFormat format = WireFormat.forAccept(accept);
+        return streamed(format, out -> orderStreamWriter.writeAll(format, out));
     }
 
     @GetMapping("/status/{status}")
-    public List<Order> getOrdersByStatus(@PathVariable String status) {
+    public List<OrderSummaryDto> getOrdersByStatus(@PathVariable String status) {
+        return orderService.getOrdersByStatus(parseStatus(status));
+    }
+
+    @GetMapping(value = "/status/{status}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByStatus(
+            @PathVariable String status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        OrderStatus orderStatus = parseStatus(status);
+        WireFormat format = WireFormat.forAccept(accept);
+        return streamed(format, out -> orderStreamWriter.writeByStatus(orderStatus, format, out));
+    }
+
+    static ResponseEntity<StreamingResponseBody> streamed(WireFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
+    }
+
+    private static OrderStatus parseStatus(String status) {
         try {
-            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-            return orderService.getOrdersByStatus(orderStatus);
+            return OrderStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid order status: " + status);
         }
@@ -1,34 +1,112 @@
 package com.wgu.capstone.controller;
 
+import com.wgu.capstone.controller.dto.CompareRequest;
 import com.wgu.capstone.entity.Part;
+import com.wgu.capstone.service.CatalogVersions;
 import com.wgu.capstone.service.PartSearchService;
 import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.WireFormat;
 import com.wgu.capstone.service.dto.PartComparisonDto;
+import com.wgu.capstone.service.dto.PartSearchPageDto;
+import com.wgu.capstone.service.dto.PartSuggestionDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/parts")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {PartController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class PartController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final PartSearchService partSearchService;
+    private final CatalogVersions catalogVersions;
 
-    public PartController(PartSearchService partSearchService) {
+    public PartController(PartSearchService partSearchService, CatalogVersions catalogVersions) {
         this.partSearchService = partSearchService;
+        this.catalogVersions = catalogVersions;
     }
 
+    // The body stays a plain array; the cursor for the next page travels in a header
     @GetMapping("/search")
-    public List<Part> searchParts(@RequestParam String query) {
-        return partSearchService.searchParts(query);
+    public ResponseEntity<List<Part>> searchParts(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest request
+    ) {
+        // A poll with a current ETag gets 304 before anything is searched or serialized
+        String eTag = eTag(request, catalogVersions.searchTag());
+        if (notModified(request, eTag)) {
+            return notModifiedResponse(eTag);
+        }
+
+        PartSearchPageDto page = partSearchService.searchParts(query, limit, cursor);
+
+        // Tagged only once the search succeeded, so error responses carry no ETag
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getParts());
+    }
+
+    @GetMapping("/suggest")
+    public List<PartSuggestionDto> suggestParts(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return partSearchService.suggestParts(prefix, limit);
     }
 
     @GetMapping("/{partId}/compare")
-    public PartComparisonDto comparePartSuppliers(
+    public ResponseEntity<PartComparisonDto> comparePartSuppliers(
             @PathVariable String partId,
-            @RequestParam(required = false) SortMode sort
+            @RequestParam(required = false) SortMode sort,
+            @RequestParam(required = false) Integer top,
+            @RequestParam(defaultValue = "false") boolean inStockOnly,
+            ServletWebRequest request
     ) {
-        return partSearchService.getComparisonForPart(partId, sort);
+        // The tag is read before loading, so it is never newer than the comparison it labels
+        String eTag = eTag(request, catalogVersions.comparisonTag(partId));
+        if (notModified(request, eTag)) {
+            return notModifiedResponse(eTag);
+        }
+        PartComparisonDto comparison = partSearchService.getComparisonForPart(partId, sort, top, inStockOnly);
+        return ResponseEntity.ok().eTag(eTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(comparison);
+    }
+
+    @PostMapping("/compare")
+    public List<PartComparisonDto> comparePartsSuppliers(@RequestBody CompareRequest request) {
+        return partSearchService.getComparisonsForParts(
+                request.getPartIds(),
+                request.getSort(),
+                request.getTop(),
+                Boolean.TRUE.equals(request.getInStockOnly())
+        );
+    }
+
+    // Each encoding of a result is a separate representation with its own tag
+    private static String eTag(ServletWebRequest request, String tag) {
+        WireFormat format = WireFormat.forAccept(request.getHeader(HttpHeaders.ACCEPT));
+        return "\"" + tag + "-" + format.name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    // Checked without a response, so nothing is written unless the answer really is 304
+    private static boolean notModified(ServletWebRequest request, String eTag) {
+        return new ServletWebRequest(request.getRequest()).checkNotModified(eTag);
+    }
+
+    private static <T> ResponseEntity<T> notModifiedResponse(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .build();
     }
-}
\ No newline at end of file
+}
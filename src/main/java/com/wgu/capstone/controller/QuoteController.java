@@ -1,11 +1,19 @@
 package com.wgu.capstone.controller;
 
+import com.wgu.capstone.controller.dto.SaveQuoteLinesRequest;
 import com.wgu.capstone.controller.dto.SaveQuoteRequest;
 import com.wgu.capstone.controller.dto.UpdateQuoteRequest;
 import com.wgu.capstone.entity.Order;
 import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.service.OrderStreamWriter;
 import com.wgu.capstone.service.QuoteService;
+import com.wgu.capstone.service.QuoteService.QuoteLine;
+import com.wgu.capstone.service.WireFormat;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,9 +23,11 @@ import java.util.List;
 public class QuoteController {
 
     private final QuoteService quoteService;
+    private final OrderStreamWriter orderStreamWriter;
 
-    public QuoteController(QuoteService quoteService) {
+    public QuoteController(QuoteService quoteService, OrderStreamWriter orderStreamWriter) {
         this.quoteService = quoteService;
+        this.orderStreamWriter = orderStreamWriter;
     }
 
     @PostMapping
@@ -29,10 +39,27 @@ public class QuoteController {
         );
     }
 
+    @PostMapping("/lines")
+    public Order saveQuoteLines(@RequestBody SaveQuoteLinesRequest request) {
+        List<QuoteLine> lines = request.getLines() == null ? null : request.getLines().stream()
+                .map(line -> line == null ? null : new QuoteLine(line.getPartSupplierId(), line.getQuantity()))
+                .toList();
+        return quoteService.saveQuoteLines(lines, request.getIsCartItem());
+    }
+
     @GetMapping
-    public List<Order> getAllQuotes() {
+    public List<OrderSummaryDto> getAllQuotes() {
         return quoteService.getAllQuotes();
     }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllQuotes(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        WireFormat format = WireFormat.forAccept(accept);
+        return OrderController.streamed(format, out ->
+                orderStreamWriter.writeByStatusAndIsCartItem(OrderStatus.QUOTE, false, format, out));
+    }
     
     @DeleteMapping("/{orderId}")
     public void deleteQuote(@PathVariable Long orderId) {
@@ -0,0 +1,140 @@
+package com.wgu.capstone.controller;
+
+import com.wgu.capstone.repository.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL each request runs and reports it in a
+ * {@code Server-Timing} header, e.g.
+ * {@code db;dur=3.2;desc="4 queries, 17 rows", app;dur=9.8}, and as the
+ * {@code http.server.requests.sql.*} meters tagged by method and URI pattern.
+ *
+ * The header has to be written before the response commits, so it carries
+ * the counts up to the moment the body starts; the meters get the final
+ * counts, including anything loaded lazily while the body is written.
+ */
+@Component
+@ConditionalOnProperty(name = "capstone.sql.metrics.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            TimingResponse timingResponse = new TimingResponse(response, scope, start);
+            try {
+                chain.doFilter(request, timingResponse);
+            } finally {
+                timingResponse.addTimingHeader();
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.queries")
+                .tag("method", method).tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getQueries());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .tag("method", method).tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getRows());
+        Timer.builder("http.server.requests.sql.time")
+                .tag("method", method).tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getDbNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    static String headerValue(QueryCounter.Scope scope, long elapsedNanos) {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d queries, %d rows\", app;dur=%.1f",
+                scope.getDbNanos() / 1e6, scope.getQueries(), scope.getRows(), elapsedNanos / 1e6);
+    }
+
+    // Adds the header just before anything can commit the response
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final QueryCounter.Scope scope;
+        private final long start;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, QueryCounter.Scope scope, long start) {
+            super(response);
+            this.scope = scope;
+            this.start = start;
+        }
+
+        void addTimingHeader() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                addHeader(HEADER, headerValue(scope, System.nanoTime() - start));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
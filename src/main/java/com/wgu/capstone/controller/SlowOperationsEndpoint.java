@@ -0,0 +1,24 @@
+package com.wgu.capstone.controller;
+
+import com.wgu.capstone.service.SlowOperationLog;
+import com.wgu.capstone.service.dto.SlowOperationsDto;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/slowops
+@Component
+@Endpoint(id = "slowops")
+public class SlowOperationsEndpoint {
+
+    private final SlowOperationLog slowOperationLog;
+
+    public SlowOperationsEndpoint(SlowOperationLog slowOperationLog) {
+        this.slowOperationLog = slowOperationLog;
+    }
+
+    @ReadOperation
+    public SlowOperationsDto slowOperations() {
+        return slowOperationLog.snapshot();
+    }
+}
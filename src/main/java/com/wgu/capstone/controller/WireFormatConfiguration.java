@@ -0,0 +1,28 @@
+package com.wgu.capstone.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.service.WireFormat;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile and CBOR converters built from the application's JSON mapper, so the
+ * binary encodings carry exactly the fields and formats the JSON does. They
+ * replace Spring's defaults for those types and keep their place after JSON,
+ * so only a client that asks for a binary type gets one.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfiguration {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(WireFormat.SMILE.mapperFrom(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(WireFormat.CBOR.mapperFrom(objectMapper));
+    }
+}
@@ -0,0 +1,31 @@
+package com.wgu.capstone.controller.dto;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+
+import java.util.List;
+
+// Either orderIds or status must be given: explicit IDs, or every order currently in that status
+public class BulkOrderRequest {
+
+    private List<Long> orderIds;
+    private OrderStatus status;
+
+    public BulkOrderRequest() {
+    }
+
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,48 @@
+package com.wgu.capstone.controller.dto;
+
+import com.wgu.capstone.service.PartSearchService.SortMode;
+
+import java.util.List;
+
+public class CompareRequest {
+
+    private List<String> partIds;
+    private SortMode sort;
+    private Integer top;
+    private Boolean inStockOnly = false;
+
+    public CompareRequest() {
+    }
+
+    public List<String> getPartIds() {
+        return partIds;
+    }
+
+    public void setPartIds(List<String> partIds) {
+        this.partIds = partIds;
+    }
+
+    public SortMode getSort() {
+        return sort;
+    }
+
+    public void setSort(SortMode sort) {
+        this.sort = sort;
+    }
+
+    public Integer getTop() {
+        return top;
+    }
+
+    public void setTop(Integer top) {
+        this.top = top;
+    }
+
+    public Boolean getInStockOnly() {
+        return inStockOnly;
+    }
+
+    public void setInStockOnly(Boolean inStockOnly) {
+        this.inStockOnly = inStockOnly;
+    }
+}
@@ -0,0 +1,31 @@
+package com.wgu.capstone.controller.dto;
+
+public class QuoteLineRequest {
+
+    private Long partSupplierId;
+    private Integer quantity;
+
+    public QuoteLineRequest() {
+    }
+
+    public QuoteLineRequest(Long partSupplierId, Integer quantity) {
+        this.partSupplierId = partSupplierId;
+        this.quantity = quantity;
+    }
+
+    public Long getPartSupplierId() {
+        return partSupplierId;
+    }
+
+    public void setPartSupplierId(Long partSupplierId) {
+        this.partSupplierId = partSupplierId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,28 @@
+package com.wgu.capstone.controller.dto;
+
+import java.util.List;
+
+public class SaveQuoteLinesRequest {
+
+    private List<QuoteLineRequest> lines;
+    private Boolean isCartItem = false; // true for cart, false for saved quote
+
+    public SaveQuoteLinesRequest() {
+    }
+
+    public List<QuoteLineRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<QuoteLineRequest> lines) {
+        this.lines = lines;
+    }
+
+    public Boolean getIsCartItem() {
+        return isCartItem;
+    }
+
+    public void setIsCartItem(Boolean isCartItem) {
+        this.isCartItem = isCartItem;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wgu.capstone.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money helpers. Amounts are stored as {@code long} cents so that
+ * order totals can be kept up to date with plain integer arithmetic;
+ * {@link BigDecimal} is only used at the edges (prices in, JSON out).
+ */
+public final class Money {
+
+    private static final int SCALE = 2;
+    private static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, (long) quantity);
+    }
+
+    /**
+     * {@code rateBasisPoints} hundredths of a percent of {@code cents}, rounded half up.
+     */
+    public static long percentOf(long cents, long rateBasisPoints) {
+        long scaled = Math.multiplyExact(cents, rateBasisPoints);
+        long half = scaled >= 0 ? BASIS_POINTS / 2 : -BASIS_POINTS / 2;
+        return (scaled + half) / BASIS_POINTS;
+    }
+}
@@ -12,10 +12,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Backs keyset pagination of /orders
+        @Index(name = "idx_orders_created_at_order_id", columnList = "created_at, order_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
 
+    // 7% sales tax
+    private static final long TAX_RATE_BASIS_POINTS = 700;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long orderId;
@@ -32,11 +38,15 @@ public class Order {
     @Column(nullable = false)
     private Instant updatedAt;
 
-    @Column(nullable = false)
-    private BigDecimal totalAmount;
+    // Money is kept in cents; the subtotal is maintained as items are added or repriced
+    @Column(name = "subtotal_cents", nullable = false)
+    private long subtotalCents;
 
-    @Column(nullable = false)
-    private BigDecimal taxAmount;
+    @Column(name = "tax_cents", nullable = false)
+    private long taxCents;
+
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
 
     @Column(name = "is_cart_item", nullable = false)
     private Boolean isCartItem = false;
@@ -58,21 +68,52 @@ public class Order {
     public void addItem(OrderItem item) {
         items.add(item);
         item.setOrder(this);
+        item.setCountedInOrder(true);
+        adjustSubtotal(item.lineTotalCents());
     }
 
+    public void removeItem(OrderItem item) {
+        if (items.remove(item)) {
+            item.setCountedInOrder(false);
+            adjustSubtotal(-item.lineTotalCents());
+        }
+    }
+
+    /**
+     * Recomputes the totals from every item. Not needed after {@link #addItem}
+     * or a price change, which keep the totals current; only useful if items
+     * were changed some other way.
+     */
     public void recalculateTotals() {
-        BigDecimal subtotal = items.stream()
-                .map(item ->
-                        item.getUnitPrice()
-                                .multiply(BigDecimal.valueOf(item.getQuantity()))
-                )
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.taxAmount = subtotal.multiply(new BigDecimal("0.07"));
-        this.totalAmount = subtotal.add(this.taxAmount);
+        long subtotal = 0;
+        for (OrderItem item : items) {
+            subtotal = Math.addExact(subtotal, item.lineTotalCents());
+        }
+        applySubtotal(subtotal);
         this.updatedAt = Instant.now();
     }
 
+    // Bumps updatedAt even when no order column changed, e.g. a same-price supplier swap,
+    // so the quote expiry sweeper's age recheck sees the change
+    public void markUpdated() {
+        this.updatedAt = Instant.now();
+    }
+
+    // Called by OrderItem when the price of an item already in this order changes
+    void adjustSubtotal(long deltaCents) {
+        applySubtotal(Math.addExact(subtotalCents, deltaCents));
+    }
+
+    private void applySubtotal(long subtotal) {
+        this.subtotalCents = subtotal;
+        this.taxCents = taxCents(subtotal);
+        this.totalCents = subtotal + taxCents;
+    }
+
+    public static long taxCents(long subtotalCents) {
+        return Money.percentOf(subtotalCents, TAX_RATE_BASIS_POINTS);
+    }
+
     // ===== Getters =====
 
     public Long getOrderId() {
@@ -84,11 +125,11 @@ public class Order {
     }
 
     public BigDecimal getTotalAmount() {
-        return totalAmount;
+        return Money.toDecimal(totalCents);
     }
 
     public BigDecimal getTaxAmount() {
-        return taxAmount;
+        return Money.toDecimal(taxCents);
     }
 
     public Instant getCreatedAt() {
@@ -11,8 +11,10 @@ import java.math.BigDecimal;
 
 public class OrderItem {
 
+    // Sequence-generated so Hibernate can batch the inserts of a multi-line quote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long orderItemId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,25 +35,44 @@ public class OrderItem {
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
-    @NotNull
-    @Column(name = "unit_price", nullable = false)
-    private BigDecimal unitPrice;
+    @Column(name = "unit_price_cents", nullable = false)
+    private long unitPriceCents;
+
+    // Whether this line is counted in its order's totals; set by Order.addItem/removeItem.
+    // Hibernate loads items through the no-arg constructor, and a loaded item is always counted.
+    @Transient
+    private boolean countedInOrder;
 
-    protected OrderItem() {}
+    protected OrderItem() {
+        this.countedInOrder = true;
+    }
 
     public OrderItem(Order order, Part part, int quantity, BigDecimal unitPrice) {
         this.order = order;
         this.part = part;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
+        this.unitPriceCents = Money.toCents(unitPrice);
     }
 
     public BigDecimal getUnitPrice() {
-        return unitPrice;
+        return Money.toDecimal(unitPriceCents);
     }
     
+    // Keeps the order's totals current without re-reading its other items
     public void setUnitPrice(BigDecimal unitPrice) {
-        this.unitPrice = unitPrice;
+        long newPriceCents = Money.toCents(unitPrice);
+        if (countedInOrder) {
+            order.adjustSubtotal(Money.times(newPriceCents - unitPriceCents, quantity));
+        }
+        this.unitPriceCents = newPriceCents;
+    }
+
+    long lineTotalCents() {
+        return Money.times(unitPriceCents, quantity);
+    }
+
+    void setCountedInOrder(boolean countedInOrder) {
+        this.countedInOrder = countedInOrder;
     }
 
     public Integer getQuantity() {
@@ -1,6 +1,7 @@
 package com.wgu.capstone.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wgu.capstone.service.PartIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "parts")
+@EntityListeners(PartIndexListener.class)
 public class Part {
 
     @Id
@@ -1,6 +1,7 @@
 package com.wgu.capstone.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wgu.capstone.service.PartSupplierChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -10,7 +11,7 @@ import java.math.BigDecimal;
 @Table(name = "part_suppliers", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"part_id", "supplier_id"})
 })
-
+@EntityListeners(PartSupplierChangeListener.class)
 public class PartSupplier {
 
     @Id
@@ -33,6 +34,10 @@ public class PartSupplier {
     @NotNull
     private Integer numInStock;
 
+    // Bumped on every write, including the bulk stock updates in PartSupplierRepository
+    @Version
+    @JsonIgnore
+    private Long version;
 
     protected PartSupplier() {}
 
@@ -80,6 +85,10 @@ public class PartSupplier {
         return partSupplierId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void calculateStock(int orderedQuantity) {
         // 1) Validate input
         if (orderedQuantity <= 0) {
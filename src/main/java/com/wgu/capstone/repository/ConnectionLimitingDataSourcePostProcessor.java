@@ -0,0 +1,37 @@
+package com.wgu.capstone.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// A limit of 0 (the default) leaves the data source unwrapped
+@Component
+class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionLimitingDataSourcePostProcessor.class);
+
+    private final int maxConcurrentConnections;
+    private final long acquireTimeoutMs;
+
+    ConnectionLimitingDataSourcePostProcessor(
+            @Value("${capstone.jdbc.max-concurrent-connections:0}") int maxConcurrentConnections,
+            @Value("${capstone.jdbc.acquire-timeout-ms:30000}") long acquireTimeoutMs
+    ) {
+        this.maxConcurrentConnections = maxConcurrentConnections;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (maxConcurrentConnections > 0 && bean instanceof DataSource dataSource
+                && !(bean instanceof ConnectionLimitingDataSource)) {
+            log.info("JDBC connections limited to {} concurrent holders", maxConcurrentConnections);
+            return new ConnectionLimitingDataSource(dataSource, maxConcurrentConnections, acquireTimeoutMs);
+        }
+        return bean;
+    }
+}
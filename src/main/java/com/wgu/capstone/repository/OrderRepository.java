@@ -2,22 +2,120 @@ package com.wgu.capstone.repository;
 
 import com.wgu.capstone.entity.Order;
 import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.service.dto.OrderLineDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.part LEFT JOIN FETCH i.selectedSupplier s LEFT JOIN FETCH s.supplier WHERE o.status = :status")
-    List<Order> findByStatus(OrderStatus status);
-    
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.part LEFT JOIN FETCH i.selectedSupplier s LEFT JOIN FETCH s.supplier WHERE o.status = :status AND o.isCartItem = :isCartItem")
-    List<Order> findByStatusAndIsCartItem(OrderStatus status, Boolean isCartItem);
-    
     @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.part LEFT JOIN FETCH i.selectedSupplier s LEFT JOIN FETCH s.supplier WHERE o.orderId = :orderId")
     java.util.Optional<Order> findByIdWithRelations(Long orderId);
     
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.part LEFT JOIN FETCH i.selectedSupplier s LEFT JOIN FETCH s.supplier ORDER BY o.createdAt DESC")
-    List<Order> findAllWithRelations();
-}
+    // ===== Read model: flat rows for list endpoints, no entities loaded =====
+
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderSummaryDto(o.orderId, o.status, o.createdAt, o.updatedAt, o.totalCents, o.taxCents, o.isCartItem) " +
+           "FROM Order o WHERE o.status = :status ORDER BY o.orderId")
+    List<OrderSummaryDto> findSummariesByStatus(OrderStatus status);
+
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderSummaryDto(o.orderId, o.status, o.createdAt, o.updatedAt, o.totalCents, o.taxCents, o.isCartItem) " +
+           "FROM Order o WHERE o.status = :status AND o.isCartItem = :isCartItem ORDER BY o.orderId")
+    List<OrderSummaryDto> findSummariesByStatusAndIsCartItem(OrderStatus status, Boolean isCartItem);
+
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderSummaryDto(o.orderId, o.status, o.createdAt, o.updatedAt, o.totalCents, o.taxCents, o.isCartItem) " +
+           "FROM Order o WHERE o.orderId IN :orderIds")
+    List<OrderSummaryDto> findSummariesByIdIn(Collection<Long> orderIds);
+
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderLineDto(i.order.orderId, i.orderItemId, p.partId, p.partName, i.quantity, i.unitPriceCents, s.partSupplierId, sup.supplierName) " +
+           "FROM OrderItem i JOIN i.part p LEFT JOIN i.selectedSupplier s LEFT JOIN s.supplier sup " +
+           "WHERE i.order.orderId IN :orderIds ORDER BY i.orderItemId")
+    List<OrderLineDto> findLinesByOrderIdIn(Collection<Long> orderIds);
+
+    // ===== Streaming exports: rows are read as they are written, in fetch-size chunks =====
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderSummaryDto(o.orderId, o.status, o.createdAt, o.updatedAt, o.totalCents, o.taxCents, o.isCartItem) " +
+           "FROM Order o ORDER BY o.createdAt DESC, o.orderId DESC")
+    Stream<OrderSummaryDto> streamSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderSummaryDto(o.orderId, o.status, o.createdAt, o.updatedAt, o.totalCents, o.taxCents, o.isCartItem) " +
+           "FROM Order o WHERE o.status = :status ORDER BY o.orderId")
+    Stream<OrderSummaryDto> streamSummariesByStatus(OrderStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.wgu.capstone.service.dto.OrderSummaryDto(o.orderId, o.status, o.createdAt, o.updatedAt, o.totalCents, o.taxCents, o.isCartItem) " +
+           "FROM Order o WHERE o.status = :status AND o.isCartItem = :isCartItem ORDER BY o.orderId")
+    Stream<OrderSummaryDto> streamSummariesByStatusAndIsCartItem(OrderStatus status, Boolean isCartItem);
+
+    // ===== Keyset pagination on (createdAt, orderId), newest first =====
+
+    @Query("SELECT o.orderId AS orderId, o.createdAt AS createdAt FROM Order o ORDER BY o.createdAt DESC, o.orderId DESC")
+    List<OrderKey> findPageKeys(Limit limit);
+
+    @Query("SELECT o.orderId AS orderId, o.createdAt AS createdAt FROM Order o WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId) ORDER BY o.createdAt DESC, o.orderId DESC")
+    List<OrderKey> findPageKeysBefore(Instant createdAt, Long orderId, Limit limit);
+
+    // ===== Bulk status transitions (no entity graphs loaded) =====
 
+    @Query("SELECT o.orderId AS orderId, o.status AS status FROM Order o WHERE o.orderId IN :orderIds")
+    List<OrderStatusView> findStatusesByIdIn(Collection<Long> orderIds);
+
+    @Query("SELECT o.orderId FROM Order o WHERE o.status = :status ORDER BY o.orderId")
+    List<Long> findIdsByStatus(OrderStatus status, Limit limit);
+
+    // Totals are unaffected by a status change, so only status and updatedAt are written
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :target, o.updatedAt = :now WHERE o.orderId IN :orderIds AND o.status = :expected")
+    int updateStatus(Collection<Long> orderIds, OrderStatus expected, OrderStatus target, Instant now);
+
+    // ===== Quote expiry (set-based, no entity loading) =====
+
+    @Query("SELECT o.orderId FROM Order o WHERE o.status = :status AND o.updatedAt < :cutoff ORDER BY o.orderId")
+    List<Long> findIdsByStatusUpdatedBefore(OrderStatus status, Instant cutoff, Limit limit);
+
+    // Stock held by the given orders, summed per supplier offer
+    @Query("SELECT s.partSupplierId AS partSupplierId, s.part.partId AS partId, SUM(i.quantity) AS quantity " +
+           "FROM OrderItem i JOIN i.selectedSupplier s WHERE i.order.orderId IN :orderIds " +
+           "GROUP BY s.partSupplierId, s.part.partId")
+    List<ReservedStock> sumReservedStock(Collection<Long> orderIds);
+
+    // Both deletes recheck status and age, so an order changed since it was found is left alone
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.orderId IN " +
+           "(SELECT o.orderId FROM Order o WHERE o.orderId IN :orderIds AND o.status = :status AND o.updatedAt < :cutoff)")
+    int deleteItemsOfOrdersUpdatedBefore(Collection<Long> orderIds, OrderStatus status, Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.orderId IN :orderIds AND o.status = :status AND o.updatedAt < :cutoff")
+    int deleteByIdsAndStatusUpdatedBefore(Collection<Long> orderIds, OrderStatus status, Instant cutoff);
+
+    interface OrderKey {
+        Long getOrderId();
+
+        Instant getCreatedAt();
+    }
+
+    interface OrderStatusView {
+        Long getOrderId();
+
+        OrderStatus getStatus();
+    }
+
+    interface ReservedStock {
+        Long getPartSupplierId();
+
+        String getPartId();
+
+        Long getQuantity();
+    }
+}
@@ -1,13 +1,18 @@
 package com.wgu.capstone.repository;
 
 import com.wgu.capstone.entity.Part;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface PartRepository extends JpaRepository<Part, String> {
 
-    List<Part> findByPartNameContainingIgnoreCase(String keyword);
-    
-    List<Part> findByPartIdContainingIgnoreCase(String keyword);
+    // Keyset pages: patterns are lower-cased and use '!' as the LIKE escape character
+    @Query("SELECT p FROM Part p WHERE LOWER(p.partId) LIKE :pattern ESCAPE '!' AND p.partId > :afterPartId ORDER BY p.partId")
+    List<Part> findIdMatchesAfter(String pattern, String afterPartId, Limit limit);
+
+    @Query("SELECT p FROM Part p WHERE LOWER(p.partName) LIKE :pattern ESCAPE '!' AND LOWER(p.partId) NOT LIKE :pattern ESCAPE '!' AND p.partId > :afterPartId ORDER BY p.partId")
+    List<Part> findNameOnlyMatchesAfter(String pattern, String afterPartId, Limit limit);
 }
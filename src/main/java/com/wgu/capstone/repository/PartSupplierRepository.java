@@ -2,16 +2,34 @@ package com.wgu.capstone.repository;
 
 import com.wgu.capstone.entity.PartSupplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface PartSupplierRepository extends JpaRepository<PartSupplier, Long> {
+public interface PartSupplierRepository extends JpaRepository<PartSupplier, Long>, PartSupplierStockOperations {
 
     @Query("SELECT ps FROM PartSupplier ps LEFT JOIN FETCH ps.supplier WHERE ps.part.partId = :partId")
     List<PartSupplier> findByPart_PartId(String partId);
     
+    @Query("SELECT ps FROM PartSupplier ps JOIN FETCH ps.part LEFT JOIN FETCH ps.supplier WHERE ps.part.partId IN :partIds")
+    List<PartSupplier> findByPartIdsWithRelations(Collection<String> partIds);
+
     @Query("SELECT ps FROM PartSupplier ps LEFT JOIN FETCH ps.part LEFT JOIN FETCH ps.supplier WHERE ps.partSupplierId = :partSupplierId")
     Optional<PartSupplier> findByIdWithRelations(Long partSupplierId);
+
+    @Query("SELECT ps FROM PartSupplier ps JOIN FETCH ps.part LEFT JOIN FETCH ps.supplier WHERE ps.partSupplierId IN :partSupplierIds ORDER BY ps.partSupplierId")
+    List<PartSupplier> findAllByIdWithRelations(Collection<Long> partSupplierIds);
+
+    // Single-statement reservation: decrements only when enough stock remains. Returns rows affected (0 or 1).
+    @Modifying
+    @Query("UPDATE PartSupplier ps SET ps.numInStock = ps.numInStock - :quantity, ps.version = ps.version + 1 WHERE ps.partSupplierId = :partSupplierId AND ps.numInStock >= :quantity")
+    int reserveStock(Long partSupplierId, int quantity);
+
+    // Also bumps the version so optimistic writers holding a stale copy fail instead of overwriting
+    @Modifying
+    @Query("UPDATE PartSupplier ps SET ps.numInStock = ps.numInStock + :quantity, ps.version = ps.version + 1 WHERE ps.partSupplierId = :partSupplierId")
+    int releaseStock(Long partSupplierId, int quantity);
 }
@@ -0,0 +1,24 @@
+package com.wgu.capstone.repository;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Stock updates that go straight to JDBC so several rows can be changed in one batch.
+ */
+public interface PartSupplierStockOperations {
+
+    /**
+     * Conditionally decrements stock for every entry in one JDBC batch. Rows
+     * are touched in ascending ID order, so concurrent batches always lock
+     * them in the same order and cannot deadlock each other.
+     *
+     * @return IDs whose row was missing or did not have enough stock
+     */
+    List<Long> reserveStockBatch(SortedMap<Long, Integer> quantityByPartSupplierId);
+
+    /**
+     * Adds stock back for every entry in one JDBC batch, in ascending ID order.
+     */
+    void releaseStockBatch(SortedMap<Long, Integer> quantityByPartSupplierId);
+}
@@ -0,0 +1,74 @@
+package com.wgu.capstone.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+class PartSupplierStockOperationsImpl implements PartSupplierStockOperations {
+
+    // Same guard as PartSupplierRepository.reserveStock, including the version bump
+    private static final String RESERVE_SQL =
+            "UPDATE part_suppliers SET num_in_stock = num_in_stock - ?, version = version + 1 " +
+            "WHERE part_supplier_id = ? AND num_in_stock >= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE part_suppliers SET num_in_stock = num_in_stock + ?, version = version + 1 " +
+            "WHERE part_supplier_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    PartSupplierStockOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> reserveStockBatch(SortedMap<Long, Integer> quantityByPartSupplierId) {
+        List<Long> ids = new ArrayList<>(quantityByPartSupplierId.keySet());
+        int[] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Long id = ids.get(i);
+                int quantity = quantityByPartSupplierId.get(id);
+                ps.setInt(1, quantity);
+                ps.setLong(2, id);
+                ps.setInt(3, quantity);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                failed.add(ids.get(i));
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public void releaseStockBatch(SortedMap<Long, Integer> quantityByPartSupplierId) {
+        List<Long> ids = new ArrayList<>(quantityByPartSupplierId.keySet());
+        jdbcTemplate.batchUpdate(RELEASE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Long id = ids.get(i);
+                ps.setInt(1, quantityByPartSupplierId.get(id));
+                ps.setLong(2, id);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.wgu.capstone.repository;
+
+/**
+ * Counts the SQL statements, rows and database time of the current thread
+ * while a scope is open. Scopes nest: a statement counts toward every open
+ * scope, so a test can measure one request that the request filter is also
+ * measuring.
+ *
+ * Fed by {@link QueryCountingDataSource}, so statements from Hibernate and
+ * from JdbcTemplate are both counted. Work done on other threads, such as
+ * the body of a streamed response, is not.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void recordStatement(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.queries++;
+            scope.nanos += nanos;
+        }
+    }
+
+    static void recordRows(long rows) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rows += rows;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private long queries;
+        private long rows;
+        private long nanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        // A JDBC batch is one round trip and counts as one query
+        public long getQueries() {
+            return queries;
+        }
+
+        // Rows read from result sets plus rows changed by updates
+        public long getRows() {
+            return rows;
+        }
+
+        public long getDbNanos() {
+            return nanos;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() != this) {
+                throw new IllegalStateException("Query counter scopes must be closed innermost first");
+            }
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
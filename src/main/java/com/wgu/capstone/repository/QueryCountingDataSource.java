@@ -0,0 +1,112 @@
+package com.wgu.capstone.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every statement executed through the wrapped data source to
+ * {@link QueryCounter}. Statements prepared while no counter scope is open
+ * are handed out unwrapped, so outside a request this costs one proxy call
+ * per prepare.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && QueryCounter.isActive()) {
+                return proxy(method.getReturnType(), statement, new StatementHandler(statement));
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private record StatementHandler(Statement statement) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = QueryCountingDataSource.invoke(statement, method, args);
+                return name.equals("getResultSet") && result != null ? countRows((ResultSet) result) : result;
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = QueryCountingDataSource.invoke(statement, method, args);
+            } finally {
+                QueryCounter.recordStatement(System.nanoTime() - start);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet);
+            }
+            QueryCounter.recordRows(rowsChanged(result));
+            return result;
+        }
+
+        private static long rowsChanged(Object result) {
+            long rows = 0;
+            if (result instanceof Integer count) {
+                rows = count;
+            } else if (result instanceof Long count) {
+                rows = count;
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return Math.max(rows, 0);
+        }
+
+        private static ResultSet countRows(ResultSet resultSet) {
+            return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+                Object result = QueryCountingDataSource.invoke(resultSet, method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    QueryCounter.recordRows(1);
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.wgu.capstone.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps the application's data source so per-request SQL counts include every statement.
+// Off by default: every connection, statement and result set goes through a dynamic proxy.
+@Component
+@ConditionalOnProperty(name = "capstone.sql.metrics.enabled", havingValue = "true")
+class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
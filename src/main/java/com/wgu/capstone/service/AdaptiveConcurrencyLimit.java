@@ -0,0 +1,117 @@
+package com.wgu.capstone.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to latency (AIMD). Each on-time completion
+ * while the limit is at least half used adds 1/limit, so the limit grows by
+ * about one slot per limit's worth of requests. A completion slower than the
+ * target multiplies the limit by 0.9, at most once per target interval, so
+ * one slow burst counts as one signal instead of dozens.
+ *
+ * A request over the limit waits up to its queue budget. It is turned away at
+ * once when the requests queued ahead of it, at the recent average latency,
+ * would not clear within that budget.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+
+    // Written under the lock, read without it by gauges and priority checks
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private double averageLatencyNanos;
+    private long lastDecreaseNanos;
+
+    AdaptiveConcurrencyLimit(int maxLimit, long latencyTargetMs) {
+        if (maxLimit < 1 || latencyTargetMs < 1) {
+            throw new IllegalArgumentException("Concurrency limit and latency target must be at least 1");
+        }
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMs);
+        this.limit = maxLimit;
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+    }
+
+    boolean acquire(long budgetNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < getLimit() && waiting == 0) {
+                inFlight++;
+                return true;
+            }
+            if (budgetNanos <= 0 || expectedWaitNanos() > budgetNanos) {
+                return false;
+            }
+
+            waiting++;
+            try {
+                long remaining = budgetNanos;
+                while (inFlight >= getLimit()) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        lock.lock();
+        try {
+            boolean busy = inFlight >= limit / 2;
+            inFlight--;
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? latencyNanos
+                    : averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos);
+
+            if (latencyNanos > latencyTargetNanos) {
+                if (nowNanos - lastDecreaseNanos >= latencyTargetNanos) {
+                    limit = Math.max(1, limit * BACKOFF_RATIO);
+                    lastDecreaseNanos = nowNanos;
+                }
+            } else if (busy) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+
+            if (waiting > 0) {
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Requests ahead of this one, served limit at a time
+    private double expectedWaitNanos() {
+        return (waiting + 1) * averageLatencyNanos / getLimit();
+    }
+
+    int getLimit() {
+        return Math.max(1, (int) limit);
+    }
+
+    int getInFlight() {
+        return inFlight;
+    }
+
+    int getWaiting() {
+        return waiting;
+    }
+}
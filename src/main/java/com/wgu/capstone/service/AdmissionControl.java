@@ -0,0 +1,266 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the API: decides whether a request runs now, waits
+ * briefly, or is turned away so the requests already running keep their
+ * latency.
+ *
+ * Every endpoint group has its own {@link AdaptiveConcurrencyLimit}, so slow
+ * LIKE searches can only hold as many threads, and so database connections,
+ * as their own limit allows. Groups run at one of three priorities. A request
+ * is refused without queueing while a group of higher priority has requests
+ * waiting, so browsing yields to quote writes and both yield to checkout and
+ * the other order transitions. Each client also has a token bucket across
+ * all non-critical groups.
+ *
+ * Refusals carry the HTTP status to send: 429 when the client is over its
+ * rate, 503 when the server is over its limits.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+    public enum Priority {
+        CRITICAL,
+        WRITE,
+        BROWSE
+    }
+
+    public enum Endpoint {
+        ORDER_TRANSITIONS(Priority.CRITICAL),
+        QUOTES(Priority.WRITE),
+        SEARCH(Priority.BROWSE),
+        COMPARE(Priority.BROWSE),
+        ORDER_READS(Priority.BROWSE);
+
+        private final Priority priority;
+
+        Endpoint(Priority priority) {
+            this.priority = priority;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+    }
+
+    private final Settings settings;
+    private final Map<Endpoint, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<String, Counter>> outcomes = new EnumMap<>(Endpoint.class);
+    private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdmissionControl(
+            MeterRegistry meterRegistry,
+            @Value("${capstone.admission.critical.max-concurrency:20}") int criticalMaxConcurrency,
+            @Value("${capstone.admission.critical.latency-target-ms:1000}") long criticalLatencyTargetMs,
+            @Value("${capstone.admission.critical.queue-ms:2000}") long criticalQueueMs,
+            @Value("${capstone.admission.write.max-concurrency:20}") int writeMaxConcurrency,
+            @Value("${capstone.admission.write.latency-target-ms:500}") long writeLatencyTargetMs,
+            @Value("${capstone.admission.write.queue-ms:500}") long writeQueueMs,
+            @Value("${capstone.admission.browse.max-concurrency:20}") int browseMaxConcurrency,
+            @Value("${capstone.admission.browse.latency-target-ms:250}") long browseLatencyTargetMs,
+            @Value("${capstone.admission.browse.queue-ms:250}") long browseQueueMs,
+            @Value("${capstone.admission.client.rate-per-second:200}") double clientRatePerSecond,
+            @Value("${capstone.admission.client.burst:400}") int clientBurst,
+            @Value("${capstone.admission.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this(meterRegistry, new Settings(
+                Map.of(
+                        Priority.CRITICAL, new Lane(criticalMaxConcurrency, criticalLatencyTargetMs, criticalQueueMs),
+                        Priority.WRITE, new Lane(writeMaxConcurrency, writeLatencyTargetMs, writeQueueMs),
+                        Priority.BROWSE, new Lane(browseMaxConcurrency, browseLatencyTargetMs, browseQueueMs)),
+                clientRatePerSecond, clientBurst, retryAfterSeconds));
+    }
+
+    AdmissionControl(MeterRegistry meterRegistry, Settings settings) {
+        this.settings = settings;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Lane lane = settings.lanes().get(endpoint.priority);
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(lane.maxConcurrency(), lane.latencyTargetMs());
+            limits.put(endpoint, limit);
+
+            String tag = endpoint.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("endpoint", tag).register(meterRegistry);
+            Gauge.builder("admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("endpoint", tag).register(meterRegistry);
+            Gauge.builder("admission.waiting", limit, AdaptiveConcurrencyLimit::getWaiting)
+                    .tag("endpoint", tag).register(meterRegistry);
+
+            Map<String, Counter> counters = new HashMap<>();
+            for (String result : new String[]{"admitted", "rate_limited", "yielded", "queue_timeout"}) {
+                counters.put(result, Counter.builder("admission.requests")
+                        .tag("endpoint", tag).tag("result", result).register(meterRegistry));
+            }
+            outcomes.put(endpoint, counters);
+        }
+    }
+
+    /**
+     * Admits the request or throws {@link Rejected}. The permit must be
+     * closed when the request finishes; its latency feeds the limit.
+     */
+    public Permit admit(Endpoint endpoint, String client) {
+        Priority priority = endpoint.priority;
+
+        if (priority != Priority.CRITICAL && settings.clientRatePerSecond() > 0) {
+            long waitNanos = bucket(client).tryTake(System.nanoTime());
+            if (waitNanos > 0) {
+                throw reject(endpoint, "rate_limited", 429, Math.max(1, (long) Math.ceil(waitNanos / 1e9)),
+                        "Too many requests, please retry later");
+            }
+        }
+
+        if (higherPriorityWaiting(priority)) {
+            throw reject(endpoint, "yielded", 503, settings.retryAfterSeconds(), "Server busy, please retry later");
+        }
+
+        AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(settings.lanes().get(priority).queueMs());
+        boolean acquired;
+        try {
+            acquired = limit.acquire(budgetNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw reject(endpoint, "queue_timeout", 503, settings.retryAfterSeconds(), "Server busy, please retry later");
+        }
+
+        outcomes.get(endpoint).get("admitted").increment();
+        return new Permit(limit);
+    }
+
+    private boolean higherPriorityWaiting(Priority priority) {
+        for (Map.Entry<Endpoint, AdaptiveConcurrencyLimit> entry : limits.entrySet()) {
+            if (entry.getKey().priority.ordinal() < priority.ordinal() && entry.getValue().getWaiting() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TokenBucket bucket(String client) {
+        if (clients.size() >= MAX_TRACKED_CLIENTS) {
+            // Full buckets belong to idle clients and are the same as a new one
+            long now = System.nanoTime();
+            clients.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return clients.computeIfAbsent(client, c -> new TokenBucket(settings.clientRatePerSecond(), settings.clientBurst()));
+    }
+
+    private Rejected reject(Endpoint endpoint, String result, int status, long retryAfterSeconds, String message) {
+        outcomes.get(endpoint).get(result).increment();
+        return new Rejected(status, retryAfterSeconds, message);
+    }
+
+    int getLimit(Endpoint endpoint) {
+        return limits.get(endpoint).getLimit();
+    }
+
+    public static final class Permit implements AutoCloseable {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start = System.nanoTime();
+        private boolean closed;
+
+        private Permit(AdaptiveConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                long now = System.nanoTime();
+                limit.release(now - start, now);
+            }
+        }
+    }
+
+    // Expected under overload, so it skips the stack trace
+    public static final class Rejected extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final long retryAfterSeconds;
+
+        Rejected(int status, long retryAfterSeconds, String message) {
+            super(message, null, false, false);
+            this.status = status;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long updatedNanos = System.nanoTime();
+
+        TokenBucket(double ratePerSecond, int burst) {
+            this.ratePerNano = ratePerSecond / 1e9;
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+        }
+
+        // 0 when a token was taken, otherwise the nanoseconds until one is available
+        synchronized long tryTake(long nowNanos) {
+            refill(nowNanos);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerNano);
+        }
+
+        synchronized boolean isFull(long nowNanos) {
+            refill(nowNanos);
+            return tokens >= capacity;
+        }
+
+        private void refill(long nowNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - updatedNanos) * ratePerNano);
+            updatedNanos = nowNanos;
+        }
+    }
+
+    record Lane(int maxConcurrency, long latencyTargetMs, long queueMs) {
+
+        Lane {
+            if (maxConcurrency < 1 || latencyTargetMs < 1 || queueMs < 0) {
+                throw new IllegalArgumentException("Admission lanes need a positive concurrency and latency target");
+            }
+        }
+    }
+
+    record Settings(Map<Priority, Lane> lanes, double clientRatePerSecond, int clientBurst, long retryAfterSeconds) {
+    }
+}
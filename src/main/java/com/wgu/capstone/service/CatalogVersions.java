@@ -0,0 +1,47 @@
+package com.wgu.capstone.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entity tags for catalog responses, cheap enough to check before any lookup.
+ *
+ * A comparison tag combines the part's change counter from
+ * {@link ComparisonCache}, which moves after every committed change to one of
+ * its supplier rows, with a catalog-wide counter that moves whenever a part is
+ * saved or removed. Search results only show parts, so their tag is the
+ * catalog counter alone. Counters live in memory, so each tag also carries the
+ * startup time: a restart changes every tag rather than reusing old ones.
+ *
+ * A tag is read before the response is built and the counters only move after
+ * commit, so a body can be newer than its tag but never older. The worst case
+ * is one extra full response.
+ */
+@Component
+public class CatalogVersions {
+
+    private final ComparisonCache comparisonCache;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong parts = new AtomicLong();
+
+    public CatalogVersions(ComparisonCache comparisonCache) {
+        this.comparisonCache = comparisonCache;
+    }
+
+    public String searchTag() {
+        return "s-" + epoch + "-" + parts.get();
+    }
+
+    public String comparisonTag(String partId) {
+        return "c-" + epoch + "-" + parts.get() + "-" + comparisonCache.version(partId);
+    }
+
+    // The startup seed writes parts with plain JDBC, so the counter moves once it is done
+    @EventListener(ApplicationReadyEvent.class)
+    public void partsChanged() {
+        parts.incrementAndGet();
+    }
+}
@@ -0,0 +1,158 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.dto.PartComparisonDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Size-bounded LRU cache of supplier comparisons, keyed by part and sort mode.
+ *
+ * Entries are split by part across up to 16 segments, each an access-order
+ * map with its own lock and an equal share of the capacity, so concurrent
+ * reads of different parts rarely contend. LRU order is kept per segment.
+ *
+ * Every part has a version (striped, so memory stays bounded) that is bumped
+ * on invalidation. A loader reads the version before it queries and passes it
+ * to {@link #put}; if the part changed in the meantime the result is dropped
+ * instead of caching data that is already stale.
+ */
+@Component
+public class ComparisonCache {
+
+    private static final String CACHE_NAME = "partComparisons";
+    private static final int VERSION_STRIPES = 4096;
+    private static final int MAX_SEGMENTS = 16;
+    // Small caches keep a single segment so eviction stays exact LRU
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private final Segment[] segments;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public ComparisonCache(
+            MeterRegistry meterRegistry,
+            @Value("${capstone.comparison-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("cache.invalidations").tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        meterRegistry.gauge("cache.size", Tags.of("cache", CACHE_NAME),
+                this, ComparisonCache::size);
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maxEntries / (segmentCount * 2) >= MIN_ENTRIES_PER_SEGMENT) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segment capacities add up to maxEntries
+            int capacity = maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0);
+            segments[i] = new Segment(capacity, evictions);
+        }
+    }
+
+    public PartComparisonDto get(String partId, SortMode sortMode) {
+        Segment segment = segment(partId);
+        PartComparisonDto cached;
+        synchronized (segment) {
+            cached = segment.get(new Key(partId, sortMode));
+        }
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    public long version(String partId) {
+        return versions.get(stripe(partId));
+    }
+
+    public void put(String partId, SortMode sortMode, PartComparisonDto comparison, long loadedAtVersion) {
+        Segment segment = segment(partId);
+        synchronized (segment) {
+            // Re-check under the lock so an invalidation cannot slip in between
+            if (version(partId) == loadedAtVersion) {
+                segment.put(new Key(partId, sortMode), comparison);
+            }
+        }
+    }
+
+    /**
+     * Drops every cached comparison for the part, for all sort modes.
+     */
+    public void invalidate(String partId) {
+        Segment segment = segment(partId);
+        synchronized (segment) {
+            versions.incrementAndGet(stripe(partId));
+            segment.remove(new Key(partId, null));
+            for (SortMode sortMode : SortMode.values()) {
+                segment.remove(new Key(partId, sortMode));
+            }
+        }
+        invalidations.increment();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    // All sort modes of a part share a segment, so invalidate and put lock just one
+    private Segment segment(String partId) {
+        int hash = partId.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static int stripe(String partId) {
+        return (partId.hashCode() & 0x7fffffff) % VERSION_STRIPES;
+    }
+
+    private record Key(String partId, SortMode sortMode) {
+    }
+
+    // Guarded by its own monitor
+    private static final class Segment extends LinkedHashMap<Key, PartComparisonDto> {
+
+        private final int capacity;
+        private final Counter evictions;
+
+        Segment(int capacity, Counter evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PartComparisonDto> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
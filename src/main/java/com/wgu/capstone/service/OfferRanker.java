@@ -0,0 +1,160 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.dto.SupplierOptionDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ranks supplier offers for a part. Each offer gets a primitive {@code double}
+ * key (lower is better) and the offers are heap-sorted by index, so no boxed
+ * comparators run. Every offer is ranked because the comparison cache keeps
+ * the full order; requests trim it to their top and stock filter afterwards.
+ *
+ * BEST_VALUE blends cost, shipping time and stock, each min-max normalised
+ * across the part's offers, using the configured weights.
+ */
+@Component
+public class OfferRanker {
+
+    private final double costWeight;
+    private final double shippingWeight;
+    private final double stockWeight;
+
+    public OfferRanker(
+            @Value("${capstone.comparison.best-value.cost-weight:0.5}") double costWeight,
+            @Value("${capstone.comparison.best-value.shipping-weight:0.3}") double shippingWeight,
+            @Value("${capstone.comparison.best-value.stock-weight:0.2}") double stockWeight
+    ) {
+        if (costWeight < 0 || shippingWeight < 0 || stockWeight < 0) {
+            throw new IllegalArgumentException("Best value weights must not be negative");
+        }
+        this.costWeight = costWeight;
+        this.shippingWeight = shippingWeight;
+        this.stockWeight = stockWeight;
+    }
+
+    /**
+     * Returns every offer in rank order. A null sort mode keeps the original
+     * order. Ties keep their original relative order.
+     */
+    public List<SupplierOptionDto> rank(List<SupplierOptionDto> options, SortMode sortMode) {
+        int n = options.size();
+        if (sortMode == null || n == 0) {
+            return List.copyOf(options);
+        }
+
+        double[] keys = keys(options, sortMode);
+
+        // Max-heap (worst offer on top) of every index
+        int[] heap = new int[n];
+        for (int i = 0; i < n; i++) {
+            heap[i] = i;
+            siftUp(heap, i, keys);
+        }
+
+        // Pop worst-first into the tail of the result
+        SupplierOptionDto[] ranked = new SupplierOptionDto[n];
+        int size = n;
+        while (size > 0) {
+            ranked[size - 1] = options.get(heap[0]);
+            heap[0] = heap[--size];
+            siftDown(heap, size, keys);
+        }
+        return List.of(ranked);
+    }
+
+    private double[] keys(List<SupplierOptionDto> options, SortMode sortMode) {
+        int n = options.size();
+        double[] keys = new double[n];
+
+        switch (sortMode) {
+            case CHEAPEST -> {
+                for (int i = 0; i < n; i++) {
+                    keys[i] = options.get(i).getPartCost().doubleValue();
+                }
+            }
+            case FASTEST_SHIPPING -> {
+                for (int i = 0; i < n; i++) {
+                    keys[i] = options.get(i).getShippingTime();
+                }
+            }
+            case BEST_VALUE -> {
+                double[] cost = new double[n];
+                double[] shipping = new double[n];
+                double[] stock = new double[n];
+                for (int i = 0; i < n; i++) {
+                    SupplierOptionDto option = options.get(i);
+                    cost[i] = option.getPartCost().doubleValue();
+                    shipping[i] = option.getShippingTime();
+                    stock[i] = option.getNumInStock() != null ? option.getNumInStock() : 0;
+                }
+                normalize(cost);
+                normalize(shipping);
+                normalize(stock);
+                for (int i = 0; i < n; i++) {
+                    // More stock is better, so its contribution is inverted
+                    keys[i] = costWeight * cost[i] + shippingWeight * shipping[i] + stockWeight * (1.0 - stock[i]);
+                }
+            }
+        }
+        return keys;
+    }
+
+    // Scales values into [0, 1]; a column with no spread contributes nothing
+    private static void normalize(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        double range = max - min;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = range > 0 ? (values[i] - min) / range : 0.0;
+        }
+    }
+
+    // Lower key wins; equal keys fall back to the original position
+    private static boolean better(int a, int b, double[] keys) {
+        int cmp = Double.compare(keys[a], keys[b]);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] keys) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], item, keys)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] keys) {
+        if (size == 0) {
+            return;
+        }
+        int item = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && better(heap[child], heap[right], keys)) {
+                child = right;
+            }
+            if (!better(item, heap[child], keys)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+}
@@ -0,0 +1,89 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs an action that lost an optimistic-lock race, sleeping a random
+ * ("full jitter") exponential backoff between attempts so contending callers
+ * spread out instead of colliding again.
+ *
+ * The action must open its own transaction; retrying inside a transaction
+ * that has already been marked for rollback cannot succeed.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public OptimisticLockRetry(
+            MeterRegistry meterRegistry,
+            @Value("${capstone.quote.retry.max-attempts:3}") int maxAttempts,
+            @Value("${capstone.quote.retry.initial-backoff-ms:5}") long initialBackoffMs,
+            @Value("${capstone.quote.retry.max-backoff-ms:100}") long maxBackoffMs
+    ) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1");
+        }
+        if (initialBackoffMs < 0 || maxBackoffMs < initialBackoffMs) {
+            throw new IllegalArgumentException("Retry backoff must satisfy 0 <= initial <= max");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException ex) {
+                counter("stock.update.conflicts", operation).increment();
+                if (attempt >= maxAttempts) {
+                    counter("stock.update.retries.exhausted", operation).increment();
+                    throw ex;
+                }
+                counter("stock.update.retries", operation).increment();
+                if (!backOff(attempt)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Sleeps a random time in [0, min(max, initial * 2^(attempt-1))]; false if interrupted
+    private boolean backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.service.dto.OrderLineDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the order list responses from two flat queries: one row per order,
+ * then one row per item for those orders. No entities are loaded, so nothing
+ * lazy is touched while the response is written.
+ */
+@Component
+public class OrderReadModel {
+
+    // Keeps IN lists well under database bind-parameter limits
+    private static final int CHUNK_SIZE = 1_000;
+
+    private final OrderRepository orderRepository;
+
+    public OrderReadModel(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    public List<OrderSummaryDto> findByStatus(OrderStatus status) {
+        return withItems(orderRepository.findSummariesByStatus(status));
+    }
+
+    public List<OrderSummaryDto> findByStatusAndIsCartItem(OrderStatus status, Boolean isCartItem) {
+        return withItems(orderRepository.findSummariesByStatusAndIsCartItem(status, isCartItem));
+    }
+
+    /**
+     * Summaries in the order of {@code orderIds}; IDs that no longer exist are skipped.
+     */
+    public List<OrderSummaryDto> findByIds(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderSummaryDto> byId = new HashMap<>();
+        for (OrderSummaryDto summary : orderRepository.findSummariesByIdIn(orderIds)) {
+            byId.put(summary.getOrderId(), summary);
+        }
+        List<OrderSummaryDto> ordered = new ArrayList<>(orderIds.size());
+        for (Long id : orderIds) {
+            OrderSummaryDto summary = byId.get(id);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return withItems(ordered);
+    }
+
+    private List<OrderSummaryDto> withItems(List<OrderSummaryDto> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        Map<Long, OrderSummaryDto> byId = new HashMap<>();
+        for (OrderSummaryDto summary : summaries) {
+            byId.put(summary.getOrderId(), summary);
+        }
+
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            Collection<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            for (OrderLineDto line : orderRepository.findLinesByOrderIdIn(chunk)) {
+                byId.get(line.getOrderId()).addItem(line);
+            }
+        }
+        return summaries;
+    }
+}
@@ -3,92 +3,331 @@ package com.wgu.capstone.service;
 import com.wgu.capstone.entity.Order;
 import com.wgu.capstone.entity.enums.OrderStatus;
 import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.repository.OrderRepository.OrderKey;
+import com.wgu.capstone.repository.OrderRepository.OrderStatusView;
+import com.wgu.capstone.service.dto.BulkOrderTransitionDto;
+import com.wgu.capstone.service.dto.OrderPageDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import com.wgu.capstone.service.dto.OrderTransitionResultDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class OrderService {
 
+    private static final int MAX_BULK_ORDERS = 10_000;
+    // Keeps IN lists well under database bind-parameter limits
+    private static final int BULK_CHUNK_SIZE = 1_000;
+    private static final String METRICS_NAME = "order";
+
     private final OrderRepository orderRepository;
+    private final OrderReadModel orderReadModel;
+    private final ServiceMetrics metrics;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(
+            OrderRepository orderRepository,
+            OrderReadModel orderReadModel,
+            ServiceMetrics metrics,
+            @Value("${capstone.orders.default-limit:50}") Integer defaultPageSize,
+            @Value("${capstone.orders.max-limit:200}") Integer maxPageSize
+    ) {
         this.orderRepository = orderRepository;
+        this.orderReadModel = orderReadModel;
+        this.metrics = metrics;
+        this.maxPageSize = maxPageSize != null ? maxPageSize : 200;
+        this.defaultPageSize = Math.min(defaultPageSize != null ? defaultPageSize : 50, this.maxPageSize);
     }
 
     @Transactional
     public Order checkout(Long orderId) {
-        Order order = orderRepository.findByIdWithRelations(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        return metrics.time(METRICS_NAME, "checkout", () -> {
+            Order order = orderRepository.findByIdWithRelations(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
 
-        if (order.getStatus() != OrderStatus.QUOTE) {
-            throw new IllegalStateException("Only quotes can be checked out. Current status: " + order.getStatus());
-        }
+            if (order.getStatus() != OrderStatus.QUOTE) {
+                throw new IllegalStateException("Only quotes can be checked out. Current status: " + order.getStatus());
+            }
 
-        // Change status from QUOTE to NEW (ready for processing)
-        order.setStatus(OrderStatus.NEW);
-        order.recalculateTotals();
+            // Change status from QUOTE to NEW (ready for processing)
+            countTransitionAfterCommit(order.getStatus(), OrderStatus.NEW, 1);
+            order.setStatus(OrderStatus.NEW);
 
-        return orderRepository.save(order);
+            return orderRepository.save(order);
+        });
     }
 
     @Transactional
     public Order processOrder(Long orderId) {
-        Order order = orderRepository.findByIdWithRelations(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        return metrics.time(METRICS_NAME, "processOrder", () -> {
+            Order order = orderRepository.findByIdWithRelations(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
 
-        if (order.getStatus() != OrderStatus.NEW) {
-            throw new IllegalStateException("Only NEW orders can be processed. Current status: " + order.getStatus());
-        }
+            if (order.getStatus() != OrderStatus.NEW) {
+                throw new IllegalStateException("Only NEW orders can be processed. Current status: " + order.getStatus());
+            }
 
-        order.setStatus(OrderStatus.PROCESSING);
-        order.recalculateTotals();
+            countTransitionAfterCommit(order.getStatus(), OrderStatus.PROCESSING, 1);
+            order.setStatus(OrderStatus.PROCESSING);
 
-        return orderRepository.save(order);
+            return orderRepository.save(order);
+        });
     }
 
     @Transactional
     public Order completeOrder(Long orderId) {
-        Order order = orderRepository.findByIdWithRelations(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        return metrics.time(METRICS_NAME, "completeOrder", () -> {
+            Order order = orderRepository.findByIdWithRelations(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
 
-        if (order.getStatus() != OrderStatus.PROCESSING) {
-            throw new IllegalStateException("Only PROCESSING orders can be completed. Current status: " + order.getStatus());
-        }
+            if (order.getStatus() != OrderStatus.PROCESSING) {
+                throw new IllegalStateException("Only PROCESSING orders can be completed. Current status: " + order.getStatus());
+            }
 
-        order.setStatus(OrderStatus.COMPLETED);
-        order.recalculateTotals();
+            countTransitionAfterCommit(order.getStatus(), OrderStatus.COMPLETED, 1);
+            order.setStatus(OrderStatus.COMPLETED);
 
-        return orderRepository.save(order);
+            return orderRepository.save(order);
+        });
     }
 
     @Transactional
     public Order cancelOrder(Long orderId) {
-        Order order = orderRepository.findByIdWithRelations(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        return metrics.time(METRICS_NAME, "cancelOrder", () -> {
+            Order order = orderRepository.findByIdWithRelations(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+
+            if (order.getStatus() == OrderStatus.COMPLETED) {
+                throw new IllegalStateException("Completed orders cannot be canceled.");
+            }
+
+            // Restore stock if order was in QUOTE or NEW status
+            if (order.getStatus() == OrderStatus.QUOTE || order.getStatus() == OrderStatus.NEW) {
+
+            }
+
+            countTransitionAfterCommit(order.getStatus(), OrderStatus.CANCELED, 1);
+            order.setStatus(OrderStatus.CANCELED);
+
+            return orderRepository.save(order);
+        });
+    }
+
+    /**
+     * Applies one transition to many orders, identified either by ID or by
+     * their current status (at most 10,000 per call, lowest IDs first).
+     *
+     * Orders are never loaded: each chunk reads just (id, status), then runs
+     * one {@code UPDATE ... WHERE status = :expected} per source status. The
+     * result reports success or the reason for failure per order.
+     */
+    @Transactional
+    public BulkOrderTransitionDto transitionOrders(Transition transition, List<Long> orderIds, OrderStatus status) {
+        return metrics.time(METRICS_NAME, "transitionOrders", () -> doTransitionOrders(transition, orderIds, status));
+    }
+
+    private BulkOrderTransitionDto doTransitionOrders(Transition transition, List<Long> orderIds, OrderStatus status) {
+        List<Long> ids = resolveBulkIds(orderIds, status);
+        Instant now = Instant.now();
 
-        if (order.getStatus() == OrderStatus.COMPLETED) {
-            throw new IllegalStateException("Completed orders cannot be canceled.");
+        Map<Long, OrderTransitionResultDto> results = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            transitionChunk(transition, chunk, now, results);
         }
 
-        // Restore stock if order was in QUOTE or NEW status
-        if (order.getStatus() == OrderStatus.QUOTE || order.getStatus() == OrderStatus.NEW) {
+        List<OrderTransitionResultDto> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ordered.add(results.get(id));
+        }
+        return new BulkOrderTransitionDto(transition.getTarget(), ordered);
+    }
+
+    private List<Long> resolveBulkIds(List<Long> orderIds, OrderStatus status) {
+        boolean byIds = orderIds != null && !orderIds.isEmpty();
+        if (byIds == (status != null)) {
+            throw new IllegalArgumentException("Provide either a list of order IDs or a status filter");
+        }
+        if (status != null) {
+            return orderRepository.findIdsByStatus(status, Limit.of(MAX_BULK_ORDERS));
+        }
+        if (orderIds.size() > MAX_BULK_ORDERS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ORDERS + " orders can be changed per request");
+        }
+
+        Set<Long> unique = new LinkedHashSet<>();
+        for (Long id : orderIds) {
+            if (id == null) {
+                throw new IllegalArgumentException("Order IDs must not be null");
+            }
+            unique.add(id);
+        }
+        return new ArrayList<>(unique);
+    }
 
+    private void transitionChunk(Transition transition, List<Long> chunk, Instant now,
+                                 Map<Long, OrderTransitionResultDto> results) {
+        Map<Long, OrderStatus> current = statuses(chunk);
+
+        // Group eligible orders by their current status so each UPDATE can check it
+        Map<OrderStatus, List<Long>> eligible = new EnumMap<>(OrderStatus.class);
+        for (Long id : chunk) {
+            OrderStatus status = current.get(id);
+            if (status == null) {
+                results.put(id, new OrderTransitionResultDto(id, false, "Order not found: " + id));
+            } else if (!transition.getSources().contains(status)) {
+                results.put(id, new OrderTransitionResultDto(id, false, transition.rejection(status)));
+            } else if (status == transition.getTarget()) {
+                // e.g. canceling an already canceled order, which the single-order endpoint also allows
+                results.put(id, new OrderTransitionResultDto(id, true, null));
+            } else {
+                eligible.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+            }
         }
 
-        order.setStatus(OrderStatus.CANCELED);
-        order.recalculateTotals();
+        for (Map.Entry<OrderStatus, List<Long>> group : eligible.entrySet()) {
+            List<Long> ids = group.getValue();
+            int updated = orderRepository.updateStatus(ids, group.getKey(), transition.getTarget(), now);
+            countTransitionAfterCommit(group.getKey(), transition.getTarget(), updated);
+            if (updated == ids.size()) {
+                ids.forEach(id -> results.put(id, new OrderTransitionResultDto(id, true, null)));
+                continue;
+            }
 
-        return orderRepository.save(order);
+            // Another request changed some of these between the read and the update
+            Map<Long, OrderStatus> after = statuses(ids);
+            for (Long id : ids) {
+                OrderStatus status = after.get(id);
+                boolean success = status == transition.getTarget();
+                results.put(id, new OrderTransitionResultDto(id, success,
+                        success ? null : "Order changed concurrently. Current status: " + status));
+            }
+        }
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAllWithRelations();
+    private void countTransitionAfterCommit(OrderStatus from, OrderStatus to, int orders) {
+        if (orders > 0) {
+            TransactionCallbacks.afterCommit(() -> metrics.increment("orders.transitions", orders,
+                    "from", from.name(), "to", to.name()));
+        }
     }
 
-    public List<Order> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status);
+    private Map<Long, OrderStatus> statuses(List<Long> ids) {
+        Map<Long, OrderStatus> statuses = new HashMap<>();
+        for (OrderStatusView view : orderRepository.findStatusesByIdIn(ids)) {
+            statuses.put(view.getOrderId(), view.getStatus());
+        }
+        return statuses;
     }
-}
 
+    /**
+     * Returns one page of orders, newest first. The cursor is the opaque
+     * {@code nextCursor} of the previous page; it is null on the last page.
+     *
+     * Page keys come from the (createdAt, orderId) index first, then only
+     * those orders and their items are read as flat rows.
+     */
+    public OrderPageDto getOrders(Integer limit, String cursor) {
+        return metrics.time(METRICS_NAME, "getOrders", () -> doGetOrders(limit, cursor));
+    }
+
+    private OrderPageDto doGetOrders(Integer limit, String cursor) {
+        int pageSize = limit == null ? defaultPageSize : Math.min(Math.max(limit, 1), maxPageSize);
+        OrderCursor position = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // One extra row tells us whether another page follows
+        List<OrderKey> keys = position == null
+                ? orderRepository.findPageKeys(Limit.of(pageSize + 1))
+                : orderRepository.findPageKeysBefore(position.createdAt(), position.orderId(), Limit.of(pageSize + 1));
+        boolean hasMore = keys.size() > pageSize;
+        if (hasMore) {
+            keys = keys.subList(0, pageSize);
+        }
+        if (keys.isEmpty()) {
+            return new OrderPageDto(List.of(), null);
+        }
+
+        List<Long> ids = new ArrayList<>(keys.size());
+        keys.forEach(key -> ids.add(key.getOrderId()));
+        List<OrderSummaryDto> page = orderReadModel.findByIds(ids);
+
+        OrderKey last = keys.get(keys.size() - 1);
+        String nextCursor = hasMore ? new OrderCursor(last.getCreatedAt(), last.getOrderId()).encode() : null;
+        return new OrderPageDto(page, nextCursor);
+    }
+
+    public List<OrderSummaryDto> getOrdersByStatus(OrderStatus status) {
+        return metrics.time(METRICS_NAME, "getOrdersByStatus", () -> orderReadModel.findByStatus(status));
+    }
+
+    private record OrderCursor(Instant createdAt, Long orderId) {
+
+        String encode() {
+            String raw = createdAt + "|" + orderId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static OrderCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new OrderCursor(
+                        Instant.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1))
+                );
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid order cursor: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * Status transitions available in bulk, with the same rules as the
+     * single-order methods above.
+     */
+    public enum Transition {
+        CHECKOUT(OrderStatus.NEW, "Only quotes can be checked out", EnumSet.of(OrderStatus.QUOTE)),
+        PROCESS(OrderStatus.PROCESSING, "Only NEW orders can be processed", EnumSet.of(OrderStatus.NEW)),
+        COMPLETE(OrderStatus.COMPLETED, "Only PROCESSING orders can be completed", EnumSet.of(OrderStatus.PROCESSING)),
+        CANCEL(OrderStatus.CANCELED, "Completed orders cannot be canceled",
+                EnumSet.complementOf(EnumSet.of(OrderStatus.COMPLETED)));
+
+        private final OrderStatus target;
+        private final String rule;
+        private final Set<OrderStatus> sources;
+
+        Transition(OrderStatus target, String rule, Set<OrderStatus> sources) {
+            this.target = target;
+            this.rule = rule;
+            this.sources = sources;
+        }
+
+        public OrderStatus getTarget() {
+            return target;
+        }
+
+        public Set<OrderStatus> getSources() {
+            return sources;
+        }
+
+        String rejection(OrderStatus current) {
+            return rule + ". Current status: " + current;
+        }
+    }
+}
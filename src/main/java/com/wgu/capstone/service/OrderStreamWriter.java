@@ -0,0 +1,125 @@
+package com.wgu.capstone.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.service.dto.OrderLineDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes order lists straight to an output stream as one array, for
+ * exports too large to build in memory. Summaries are read from a database
+ * cursor inside one read-only transaction; every {@code batchSize} orders
+ * their items are loaded, the batch is written and flushed, and the
+ * persistence context is cleared, so heap use does not grow with the export.
+ *
+ * The array holds the same fields as the list endpoints return, in any
+ * {@link WireFormat}.
+ */
+@Component
+public class OrderStreamWriter {
+
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+
+    public OrderStreamWriter(
+            OrderRepository orderRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${capstone.orders.stream.batch-size:500}") int batchSize
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Stream batch size must be at least 1");
+        }
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        for (WireFormat format : WireFormat.values()) {
+            this.mappers.put(format, format.mapperFrom(objectMapper));
+        }
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    // Newest first, the same order as the paged /orders endpoint
+    public void writeAll(WireFormat format, OutputStream out) {
+        write(orderRepository::streamSummaries, format, out);
+    }
+
+    public void writeByStatus(OrderStatus status, WireFormat format, OutputStream out) {
+        write(() -> orderRepository.streamSummariesByStatus(status), format, out);
+    }
+
+    public void writeByStatusAndIsCartItem(OrderStatus status, Boolean isCartItem, WireFormat format, OutputStream out) {
+        write(() -> orderRepository.streamSummariesByStatusAndIsCartItem(status, isCartItem), format, out);
+    }
+
+    private void write(Supplier<Stream<OrderSummaryDto>> query, WireFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<OrderSummaryDto> summaries = query.get();
+                 JsonGenerator generator = openGenerator(format, out)) {
+                generator.writeStartArray();
+
+                List<OrderSummaryDto> batch = new ArrayList<>(batchSize);
+                Iterator<OrderSummaryDto> rows = summaries.iterator();
+                while (rows.hasNext()) {
+                    batch.add(rows.next());
+                    if (batch.size() == batchSize || !rows.hasNext()) {
+                        writeBatch(batch, generator);
+                        batch.clear();
+                    }
+                }
+
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // The caller owns the stream; a failed export is left truncated rather than closed off
+    private JsonGenerator openGenerator(WireFormat format, OutputStream out) throws IOException {
+        return mappers.get(format).getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    }
+
+    private void writeBatch(List<OrderSummaryDto> batch, JsonGenerator generator) throws IOException {
+        Map<Long, OrderSummaryDto> byId = new HashMap<>();
+        for (OrderSummaryDto summary : batch) {
+            byId.put(summary.getOrderId(), summary);
+        }
+        for (OrderLineDto line : orderRepository.findLinesByOrderIdIn(byId.keySet())) {
+            byId.get(line.getOrderId()).addItem(line);
+        }
+
+        for (OrderSummaryDto summary : batch) {
+            generator.writeObject(summary);
+        }
+        generator.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.Part;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the in-memory part indexes in step with saved parts.
+ * Changes are applied after commit so rolled-back saves never reach the index.
+ */
+@Component
+public class PartIndexListener {
+
+    private final PartNgramIndex partNgramIndex;
+    private final PartSuggestIndex partSuggestIndex;
+    private final CatalogVersions catalogVersions;
+
+    public PartIndexListener(PartNgramIndex partNgramIndex, PartSuggestIndex partSuggestIndex,
+                             CatalogVersions catalogVersions) {
+        this.partNgramIndex = partNgramIndex;
+        this.partSuggestIndex = partSuggestIndex;
+        this.catalogVersions = catalogVersions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Part part) {
+        TransactionCallbacks.afterCommit(() -> {
+            partNgramIndex.index(part);
+            partSuggestIndex.index(part);
+            catalogVersions.partsChanged();
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Part part) {
+        String partId = part.getPartId();
+        TransactionCallbacks.afterCommit(() -> {
+            partNgramIndex.remove(partId);
+            partSuggestIndex.remove(partId);
+            catalogVersions.partsChanged();
+        });
+    }
+}
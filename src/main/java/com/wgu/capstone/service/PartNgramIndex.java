@@ -0,0 +1,319 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.Part;
+import com.wgu.capstone.service.PartSearchService.SearchMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over part numbers and part names.
+ * Substring queries are answered by intersecting the posting lists of the
+ * query's trigrams and then verifying the (few) surviving candidates.
+ * Outside INDEX search mode the index is never built, and saves are ignored.
+ */
+@Component
+public class PartNgramIndex {
+
+    private static final int N = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Document ordinal -> part snapshot (null once superseded or removed)
+    private final List<Part> docs = new ArrayList<>();
+    private final List<String> idKeys = new ArrayList<>();
+    private final List<String> nameKeys = new ArrayList<>();
+
+    private final Map<String, Integer> ordinalByPartId = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    // partId -> latest part, or null when removed, for saves made before the first rebuild
+    private final Map<String, Part> pendingUpdates = new LinkedHashMap<>();
+
+    private final boolean enabled;
+    private int deadDocs = 0;
+    private volatile boolean ready = false;
+
+    @Autowired
+    public PartNgramIndex(@Value("${capstone.search.mode:INDEX}") SearchMode searchMode) {
+        this.enabled = searchMode == null || searchMode == SearchMode.INDEX;
+    }
+
+    PartNgramIndex() {
+        this(SearchMode.INDEX);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalByPartId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<Part> parts) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Part part : parts) {
+                add(part);
+            }
+            // The parts were read before taking the lock, so saves buffered meanwhile may be newer
+            pendingUpdates.forEach((partId, part) -> {
+                if (part != null) {
+                    add(part);
+                } else {
+                    removeOrdinal(partId);
+                }
+            });
+            pendingUpdates.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Saves made before the first rebuild are buffered and applied on top of it
+    public void index(Part part) {
+        if (!enabled || part == null || part.getPartId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pendingUpdates.put(part.getPartId(), new Part(part.getPartId(), part.getPartName()));
+                return;
+            }
+            add(part);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String partId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pendingUpdates.put(partId, null);
+                return;
+            }
+            if (removeOrdinal(partId)) {
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Part> findExact(String partId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalByPartId.get(partId);
+            return ordinal != null ? Optional.of(docs.get(ordinal)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} parts, ordered by part ID and after
+     * {@code afterPartId}, whose ID contains the query - or, when
+     * {@code nameOnly} is set, whose name but not ID contains it.
+     * Matching is case-insensitive, like the repository-backed search.
+     */
+    public List<Part> search(String query, boolean nameOnly, String afterPartId, int limit) {
+        String key = normalize(query);
+        String after = afterPartId != null ? afterPartId : "";
+        // Max-heap on part ID keeps only the smallest `limit` matches
+        PriorityQueue<Part> best = new PriorityQueue<>(
+                Comparator.comparing(Part::getPartId).reversed()
+        );
+
+        lock.readLock().lock();
+        try {
+            if (key.length() < N) {
+                // Too short to use trigrams - scan the in-memory keys instead
+                for (int ordinal = 0; ordinal < docs.size(); ordinal++) {
+                    offer(ordinal, key, nameOnly, after, limit, best);
+                }
+            } else {
+                for (int ordinal : candidates(key)) {
+                    offer(ordinal, key, nameOnly, after, limit, best);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Part> result = new ArrayList<>(best);
+        result.sort(Comparator.comparing(Part::getPartId));
+        return result;
+    }
+
+    // ===== Internals (caller holds the appropriate lock) =====
+
+    private void offer(int ordinal, String key, boolean nameOnly, String after, int limit, PriorityQueue<Part> best) {
+        Part part = docs.get(ordinal);
+        if (part == null || limit <= 0 || part.getPartId().compareTo(after) <= 0) {
+            return;
+        }
+        boolean idMatch = idKeys.get(ordinal).contains(key);
+        boolean matches = nameOnly ? !idMatch && nameKeys.get(ordinal).contains(key) : idMatch;
+        if (!matches) {
+            return;
+        }
+        if (best.size() < limit) {
+            best.add(part);
+        } else if (part.getPartId().compareTo(best.peek().getPartId()) < 0) {
+            best.poll();
+            best.add(part);
+        }
+    }
+
+    private int[] candidates(String key) {
+        Set<String> grams = new HashSet<>();
+        addGrams(key, grams);
+
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+
+        // Intersect starting from the rarest trigram to keep the working set small
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.size() && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists.get(i));
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private static int intersect(int[] acc, int accSize, Postings other) {
+        int i = 0;
+        int j = 0;
+        int out = 0;
+        while (i < accSize && j < other.size) {
+            int a = acc[i];
+            int b = other.ordinals[j];
+            if (a == b) {
+                acc[out++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return out;
+    }
+
+    private void add(Part part) {
+        Integer previous = ordinalByPartId.get(part.getPartId());
+        if (previous != null) {
+            kill(previous);
+        }
+
+        int ordinal = docs.size();
+        String idKey = normalize(part.getPartId());
+        String nameKey = normalize(part.getPartName());
+
+        docs.add(new Part(part.getPartId(), part.getPartName()));
+        idKeys.add(idKey);
+        nameKeys.add(nameKey);
+        ordinalByPartId.put(part.getPartId(), ordinal);
+
+        // Grams are collected per field so no trigram spans the ID/name boundary
+        Set<String> grams = new HashSet<>();
+        addGrams(idKey, grams);
+        addGrams(nameKey, grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).append(ordinal);
+        }
+    }
+
+    private boolean removeOrdinal(String partId) {
+        Integer ordinal = ordinalByPartId.remove(partId);
+        if (ordinal == null) {
+            return false;
+        }
+        kill(ordinal);
+        return true;
+    }
+
+    private void kill(int ordinal) {
+        docs.set(ordinal, null);
+        idKeys.set(ordinal, "");
+        nameKeys.set(ordinal, "");
+        deadDocs++;
+    }
+
+    private void compactIfNeeded() {
+        if (deadDocs > 1024 && deadDocs > ordinalByPartId.size()) {
+            List<Part> live = docs.stream().filter(p -> p != null).toList();
+            clear();
+            live.forEach(this::add);
+        }
+    }
+
+    private void clear() {
+        docs.clear();
+        idKeys.clear();
+        nameKeys.clear();
+        ordinalByPartId.clear();
+        postings.clear();
+        deadDocs = 0;
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(text.substring(i, i + N));
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size = 0;
+
+        // Ordinals are handed out in increasing order, so appends keep the list sorted
+        void append(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
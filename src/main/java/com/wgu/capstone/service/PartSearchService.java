@@ -5,55 +5,303 @@ import com.wgu.capstone.entity.PartSupplier;
 import com.wgu.capstone.repository.PartRepository;
 import com.wgu.capstone.repository.PartSupplierRepository;
 import com.wgu.capstone.service.dto.PartComparisonDto;
+import com.wgu.capstone.service.dto.PartSearchPageDto;
+import com.wgu.capstone.service.dto.PartSuggestionDto;
 import com.wgu.capstone.service.dto.SupplierOptionDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class PartSearchService {
 
+    private static final Logger log = LoggerFactory.getLogger(PartSearchService.class);
+
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_BATCH_COMPARISONS = 100;
+    private static final String METRICS_NAME = "partSearch";
+
     private final PartRepository partRepository;
     private final PartSupplierRepository partSupplierRepository;
+    private final PartNgramIndex partNgramIndex;
+    private final PartSuggestIndex partSuggestIndex;
+    private final ComparisonCache comparisonCache;
+    private final OfferRanker offerRanker;
+    private final ServiceMetrics metrics;
+    private final SingleFlight singleFlight;
+    private final SearchMode searchMode;
+    private final int defaultSearchLimit;
+    private final int maxSearchLimit;
 
-    public PartSearchService(PartRepository partRepository, PartSupplierRepository partSupplierRepository) {
+    public PartSearchService(
+            PartRepository partRepository,
+            PartSupplierRepository partSupplierRepository,
+            PartNgramIndex partNgramIndex,
+            PartSuggestIndex partSuggestIndex,
+            ComparisonCache comparisonCache,
+            OfferRanker offerRanker,
+            ServiceMetrics metrics,
+            SingleFlight singleFlight,
+            @Value("${capstone.search.mode:INDEX}") SearchMode searchMode,
+            @Value("${capstone.search.default-limit:50}") Integer defaultSearchLimit,
+            @Value("${capstone.search.max-limit:200}") Integer maxSearchLimit
+    ) {
         this.partRepository = partRepository;
         this.partSupplierRepository = partSupplierRepository;
+        this.partNgramIndex = partNgramIndex;
+        this.partSuggestIndex = partSuggestIndex;
+        this.comparisonCache = comparisonCache;
+        this.offerRanker = offerRanker;
+        this.metrics = metrics;
+        this.singleFlight = singleFlight;
+        this.searchMode = searchMode != null ? searchMode : SearchMode.INDEX;
+        this.maxSearchLimit = maxSearchLimit != null ? maxSearchLimit : 200;
+        this.defaultSearchLimit = Math.min(defaultSearchLimit != null ? defaultSearchLimit : 50, this.maxSearchLimit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        List<Part> parts = partRepository.findAll();
+        partSuggestIndex.rebuild(parts);
+        if (searchMode == SearchMode.INDEX) {
+            partNgramIndex.rebuild(parts);
+        }
+        log.info("Part search indexes built: {} parts", parts.size());
     }
 
     public List<Part> searchParts(String query) {
+        return searchParts(query, null, null).getParts();
+    }
+
+    /**
+     * Returns one page of matches: part-number matches first, then name-only
+     * matches, each ordered by part ID. The cursor is the opaque
+     * {@code nextCursor} of the previous page.
+     */
+    public PartSearchPageDto searchParts(String query, Integer limit, String cursor) {
+        PartSearchPageDto page = metrics.time(METRICS_NAME, "searchParts", () -> doSearchParts(query, limit, cursor));
+        metrics.increment("search.requests", "result", page.getParts().isEmpty() ? "miss" : "hit");
+        return page;
+    }
+
+    private PartSearchPageDto doSearchParts(String query, Integer limit, String cursor) {
         if (query == null || query.trim().isEmpty()) {
             throw new IllegalArgumentException("Search query cannot be empty");
         }
 
         String q = query.trim();
+        int pageSize = limit == null ? defaultSearchLimit : Math.min(Math.max(limit, 1), maxSearchLimit);
+        SearchCursor start = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        // Serve from the in-memory index once it has been built
+        if (searchMode == SearchMode.INDEX && partNgramIndex.isReady()) {
+            return search(q, pageSize, start, true);
+        }
+
+        // Identical database searches running at the same time share one set of queries
+        return singleFlight.execute("search", new SearchKey(q, pageSize, start),
+                () -> search(q, pageSize, start, false));
+    }
+
+    private PartSearchPageDto search(String q, int pageSize, SearchCursor start, boolean useIndex) {
+        SearchCursor position = start;
 
         // First try exact match by ID
-        Optional<Part> exactPart = partRepository.findById(q);
-        if (exactPart.isPresent()) {
-            return List.of(exactPart.get());
+        if (position == null) {
+            Optional<Part> exactPart = useIndex ? partNgramIndex.findExact(q) : partRepository.findById(q);
+            if (exactPart.isPresent()) {
+                return new PartSearchPageDto(List.of(exactPart.get()), null);
+            }
+            position = SearchCursor.START;
         }
 
-        // Search by part ID (partial match) and part name (partial match)
-        List<Part> byId = partRepository.findByPartIdContainingIgnoreCase(q);
-        List<Part> byName = partRepository.findByPartNameContainingIgnoreCase(q);
-        
-        // Combine results and remove duplicates (using partId as unique identifier)
-        java.util.Map<String, Part> uniqueParts = new java.util.LinkedHashMap<>();
-        byId.forEach(part -> uniqueParts.putIfAbsent(part.getPartId(), part));
-        byName.forEach(part -> uniqueParts.putIfAbsent(part.getPartId(), part));
-        
-        return new java.util.ArrayList<>(uniqueParts.values());
+        List<Part> page = new ArrayList<>(pageSize);
+
+        // Search by part ID (partial match); one extra row tells us whether another page exists
+        if (!position.nameOnly()) {
+            List<Part> byId = findMatches(useIndex, q, false, position.afterPartId(), pageSize + 1);
+            if (byId.size() > pageSize) {
+                page.addAll(byId.subList(0, pageSize));
+                return new PartSearchPageDto(page, new SearchCursor(false, lastPartId(page)).encode());
+            }
+            page.addAll(byId);
+            position = new SearchCursor(true, "");
+        }
+
+        // Then by part name, skipping parts already returned as ID matches
+        int remaining = pageSize - page.size();
+        List<Part> byName = findMatches(useIndex, q, true, position.afterPartId(), remaining + 1);
+        if (byName.size() > remaining) {
+            List<Part> taken = byName.subList(0, remaining);
+            page.addAll(taken);
+            String after = taken.isEmpty() ? position.afterPartId() : lastPartId(taken);
+            return new PartSearchPageDto(page, new SearchCursor(true, after).encode());
+        }
+        page.addAll(byName);
+        return new PartSearchPageDto(page, null);
+    }
+
+    private List<Part> findMatches(boolean useIndex, String query, boolean nameOnly, String afterPartId, int limit) {
+        if (useIndex) {
+            return partNgramIndex.search(query, nameOnly, afterPartId, limit);
+        }
+
+        String pattern = "%" + escapeLike(query.toLowerCase(Locale.ROOT)) + "%";
+        return nameOnly
+                ? partRepository.findNameOnlyMatchesAfter(pattern, afterPartId, Limit.of(limit))
+                : partRepository.findIdMatchesAfter(pattern, afterPartId, Limit.of(limit));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String lastPartId(List<Part> parts) {
+        return parts.get(parts.size() - 1).getPartId();
+    }
+
+    public List<PartSuggestionDto> suggestParts(String prefix, Integer limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return List.of();
+        }
+
+        int k = limit == null ? DEFAULT_SUGGESTIONS : Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+
+        return metrics.time(METRICS_NAME, "suggestParts", () -> partSuggestIndex.suggest(prefix, k).stream()
+                .map(part -> new PartSuggestionDto(part.getPartId(), part.getPartName()))
+                .toList());
     }
 
     public PartComparisonDto getComparisonForPart(String partId, SortMode sortMode) {
+        return getComparisonForPart(partId, sortMode, null, false);
+    }
+
+    /**
+     * Comparison for one part, optionally trimmed to the best {@code top}
+     * offers and/or to offers that have stock.
+     */
+    public PartComparisonDto getComparisonForPart(String partId, SortMode sortMode, Integer top, boolean inStockOnly) {
+        PartComparisonDto comparison = metrics.time(METRICS_NAME, "getComparisonForPart", () ->
+                select(loadComparison(partId, sortMode), top, inStockOnly));
+        metrics.recordSize("comparison.offers", comparison.getOptions().size());
+        return comparison;
+    }
+
+    private PartComparisonDto loadComparison(String partId, SortMode sortMode) {
+        // Read before the cache, so a load joined below started no earlier than the last invalidation
+        long version = comparisonCache.version(partId);
+        PartComparisonDto cached = comparisonCache.get(partId, sortMode);
+        if (cached != null) {
+            return cached;
+        }
+        // Concurrent misses for the same comparison wait for one load instead of each querying;
+        // the version keeps a request that starts after an invalidation from joining an older load
+        return singleFlight.execute("comparison", new ComparisonKey(partId, sortMode, version),
+                () -> queryComparison(partId, sortMode, version));
+    }
+
+    private PartComparisonDto queryComparison(String partId, SortMode sortMode, long version) {
+
         Part part = partRepository.findById(partId)
                 .orElseThrow(() -> new IllegalArgumentException("Part not found: " + partId));
 
         List<PartSupplier> vendorRows = partSupplierRepository.findByPart_PartId(partId);
 
+        PartComparisonDto comparison = toComparison(part, vendorRows, sortMode);
+        comparisonCache.put(partId, sortMode, comparison, version);
+        return comparison;
+    }
+
+    /**
+     * Builds comparisons for several parts from a single query over all of
+     * their supplier rows. Results follow the order of the requested IDs.
+     */
+    public List<PartComparisonDto> getComparisonsForParts(List<String> partIds, SortMode sortMode) {
+        return getComparisonsForParts(partIds, sortMode, null, false);
+    }
+
+    public List<PartComparisonDto> getComparisonsForParts(List<String> partIds, SortMode sortMode,
+                                                          Integer top, boolean inStockOnly) {
+        List<PartComparisonDto> comparisons = metrics.time(METRICS_NAME, "getComparisonsForParts", () ->
+                loadComparisons(partIds, sortMode, top, inStockOnly));
+        metrics.recordSize("comparison.batch.parts", comparisons.size());
+        comparisons.forEach(comparison -> metrics.recordSize("comparison.offers", comparison.getOptions().size()));
+        return comparisons;
+    }
+
+    private List<PartComparisonDto> loadComparisons(List<String> partIds, SortMode sortMode,
+                                                    Integer top, boolean inStockOnly) {
+        if (partIds == null || partIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one part ID is required");
+        }
+
+        Set<String> requested = new LinkedHashSet<>(partIds);
+        if (requested.size() > MAX_BATCH_COMPARISONS) {
+            throw new IllegalArgumentException(
+                    "Too many parts to compare. Maximum: " + MAX_BATCH_COMPARISONS + ", requested: " + requested.size()
+            );
+        }
+
+        // Only parts missing from the cache go to the database
+        Map<String, PartComparisonDto> comparisons = new HashMap<>();
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (String partId : requested) {
+            PartComparisonDto cached = comparisonCache.get(partId, sortMode);
+            if (cached != null) {
+                comparisons.put(partId, cached);
+            } else {
+                versions.put(partId, comparisonCache.version(partId));
+            }
+        }
+        if (versions.isEmpty()) {
+            return requested.stream().map(id -> select(comparisons.get(id), top, inStockOnly)).toList();
+        }
+
+        // Group every offer for the remaining parts in memory
+        Map<String, Part> parts = new HashMap<>();
+        Map<String, List<PartSupplier>> rowsByPart = new HashMap<>();
+        for (PartSupplier ps : partSupplierRepository.findByPartIdsWithRelations(versions.keySet())) {
+            parts.putIfAbsent(ps.getPartId(), ps.getPart());
+            rowsByPart.computeIfAbsent(ps.getPartId(), id -> new ArrayList<>()).add(ps);
+        }
+
+        // Parts with no offers at all still need their name (and must exist)
+        List<String> withoutOffers = versions.keySet().stream().filter(id -> !parts.containsKey(id)).toList();
+        if (!withoutOffers.isEmpty()) {
+            partRepository.findAllById(withoutOffers).forEach(part -> parts.put(part.getPartId(), part));
+            List<String> missing = withoutOffers.stream().filter(id -> !parts.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Part not found: " + String.join(", ", missing));
+            }
+        }
+
+        versions.forEach((partId, version) -> {
+            PartComparisonDto comparison = toComparison(parts.get(partId), rowsByPart.getOrDefault(partId, List.of()), sortMode);
+            comparisonCache.put(partId, sortMode, comparison, version);
+            comparisons.put(partId, comparison);
+        });
+
+        return requested.stream().map(id -> select(comparisons.get(id), top, inStockOnly)).toList();
+    }
+
+    private PartComparisonDto toComparison(Part part, List<PartSupplier> vendorRows, SortMode sortMode) {
         List<SupplierOptionDto> options = vendorRows.stream()
                 .map(ps -> new SupplierOptionDto(
                         ps.getPartSupplierId(),
@@ -65,29 +313,73 @@ public class PartSearchService {
                 ))
                 .toList();
 
-        List<SupplierOptionDto> sortedOptions = sortOptions(options, sortMode);
+        // Cached comparisons hold every offer in rank order; callers trim them with select()
+        List<SupplierOptionDto> sortedOptions = offerRanker.rank(options, sortMode);
 
         return new PartComparisonDto(part.getPartId(), part.getPartName(), sortedOptions);
     }
 
-    private List<SupplierOptionDto> sortOptions(List<SupplierOptionDto> options, SortMode sortMode) {
-        if (sortMode == null) {
-            return options;
+    private PartComparisonDto select(PartComparisonDto comparison, Integer top, boolean inStockOnly) {
+        if (top == null && !inStockOnly) {
+            return comparison;
+        }
+        if (top != null && top < 1) {
+            throw new IllegalArgumentException("top must be greater than zero");
+        }
+
+        int limit = top != null ? top : Integer.MAX_VALUE;
+        List<SupplierOptionDto> selected = new ArrayList<>(Math.min(limit, comparison.getOptions().size()));
+        for (SupplierOptionDto option : comparison.getOptions()) {
+            if (selected.size() == limit) {
+                break;
+            }
+            if (!inStockOnly || (option.getNumInStock() != null && option.getNumInStock() > 0)) {
+                selected.add(option);
+            }
+        }
+        return new PartComparisonDto(comparison.getPartId(), comparison.getPartName(), selected);
+    }
+
+    private record SearchKey(String query, int pageSize, SearchCursor start) {
+    }
+
+    private record ComparisonKey(String partId, SortMode sortMode, long version) {
+    }
+
+    private record SearchCursor(boolean nameOnly, String afterPartId) {
+
+        static final SearchCursor START = new SearchCursor(false, "");
+
+        String encode() {
+            String raw = (nameOnly ? "N:" : "I:") + afterPartId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
         }
 
-        return switch (sortMode) {
-            case CHEAPEST -> options.stream()
-                    .sorted(Comparator.comparing(SupplierOptionDto::getPartCost))
-                    .toList();
+        static SearchCursor decode(String cursor) {
+            String raw;
+            try {
+                raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+            }
+            if (raw.startsWith("I:")) {
+                return new SearchCursor(false, raw.substring(2));
+            }
+            if (raw.startsWith("N:")) {
+                return new SearchCursor(true, raw.substring(2));
+            }
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+        }
+    }
 
-            case FASTEST_SHIPPING -> options.stream()
-                    .sorted(Comparator.comparing(SupplierOptionDto::getShippingTime))
-                    .toList();
-        };
+    public enum SearchMode {
+        INDEX,
+        REPOSITORY
     }
 
     public enum SortMode {
         CHEAPEST,
-        FASTEST_SHIPPING
+        FASTEST_SHIPPING,
+        BEST_VALUE
     }
 }
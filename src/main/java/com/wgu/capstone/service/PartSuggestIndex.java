@@ -0,0 +1,299 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.Part;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact prefix index for type-ahead suggestions over part numbers and
+ * part-name words. Keys live in two sorted arrays (part numbers and name
+ * words), so a prefix lookup is a binary search plus a walk over the first k hits.
+ *
+ * Saves between rebuilds go to a small overlay that is merged on read and
+ * folded back into the sorted arrays once it grows. Saves made before the
+ * first rebuild stay in the overlay on top of it.
+ */
+@Component
+public class PartSuggestIndex {
+
+    private static final int OVERLAY_LIMIT = 1024;
+
+    // Written under the monitor; suggest() reads it there too, together with the overlay
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready = false;
+
+    // partId -> latest part, or null when removed since the last rebuild
+    private final Map<String, Part> overlay = new LinkedHashMap<>();
+
+    // Bumped by every rebuild so a fold that started before it is discarded
+    private long generation = 0;
+    private boolean folding = false;
+
+    public void rebuild(Collection<Part> parts) {
+        Snapshot built = Snapshot.build(parts);
+        synchronized (this) {
+            // Saves buffered before the first rebuild may be newer than the parts it was given
+            if (ready) {
+                overlay.clear();
+            }
+            snapshot = built;
+            generation++;
+            ready = true;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Part part) {
+        if (part == null || part.getPartId() == null) {
+            return;
+        }
+        put(part.getPartId(), new Part(part.getPartId(), part.getPartName()));
+    }
+
+    public void remove(String partId) {
+        put(partId, null);
+    }
+
+    /**
+     * Returns up to {@code limit} parts whose number, or any word of whose name,
+     * starts with the prefix. Case, dashes and other punctuation are ignored.
+     * Part-number completions are ranked ahead of name completions.
+     */
+    public List<Part> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current;
+        Map<String, Part> pending;
+        synchronized (this) {
+            current = snapshot;
+            pending = overlay.isEmpty() ? Map.of() : new LinkedHashMap<>(overlay);
+        }
+
+        Map<String, Part> byId = new LinkedHashMap<>();
+        Map<String, Part> byName = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Part> entry : pending.entrySet()) {
+            Part part = entry.getValue();
+            if (part == null) {
+                continue;
+            }
+            if (normalize(part.getPartId()).startsWith(key)) {
+                byId.put(part.getPartId(), part);
+            } else if (tokens(part.getPartName()).stream().anyMatch(t -> t.startsWith(key))) {
+                byName.put(part.getPartId(), part);
+            }
+        }
+
+        // Part-number hits fill the result first; name-word hits only top it up
+        collect(current, current.idKeys, key, pending, byId, byId, limit - byId.size());
+        collect(current, current.nameKeys, key, pending, byId, byName, limit - byId.size() - byName.size());
+
+        List<Part> result = new ArrayList<>(limit);
+        for (Part part : byId.values()) {
+            if (result.size() == limit) {
+                return result;
+            }
+            result.add(part);
+        }
+        for (Part part : byName.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(part);
+        }
+        return result;
+    }
+
+    // Parts already in `out` or in `skip` are passed over without counting towards `needed`
+    private static void collect(Snapshot current, KeyArray keyArray, String key, Map<String, Part> pending,
+                                Map<String, Part> skip, Map<String, Part> out, int needed) {
+        int added = 0;
+        for (int i = keyArray.lowerBound(key); i < keyArray.keys.length && added < needed; i++) {
+            if (!keyArray.keys[i].startsWith(key)) {
+                break;
+            }
+            int ordinal = keyArray.ordinals[i];
+            String partId = current.partIds[ordinal];
+            if (pending.containsKey(partId) || skip.containsKey(partId) || out.containsKey(partId)) {
+                continue;
+            }
+            out.put(partId, new Part(partId, current.partNames[ordinal]));
+            added++;
+        }
+    }
+
+    private void put(String partId, Part part) {
+        Snapshot base;
+        Map<String, Part> folded;
+        long foldGeneration;
+        synchronized (this) {
+            overlay.put(partId, part);
+            if (!ready || folding || overlay.size() < OVERLAY_LIMIT) {
+                return;
+            }
+            folding = true;
+            base = snapshot;
+            folded = new LinkedHashMap<>(overlay);
+            foldGeneration = generation;
+        }
+        try {
+            fold(base, folded, foldGeneration);
+        } finally {
+            synchronized (this) {
+                folding = false;
+            }
+        }
+    }
+
+    // Merges the overlay into new sorted arrays without holding the monitor, then swaps them in
+    private void fold(Snapshot base, Map<String, Part> folded, long foldGeneration) {
+        Map<String, Part> merged = new LinkedHashMap<>();
+        for (int i = 0; i < base.partIds.length; i++) {
+            merged.put(base.partIds[i], new Part(base.partIds[i], base.partNames[i]));
+        }
+        folded.forEach((partId, part) -> {
+            if (part == null) {
+                merged.remove(partId);
+            } else {
+                merged.put(partId, part);
+            }
+        });
+        Snapshot built = Snapshot.build(merged.values());
+
+        synchronized (this) {
+            if (generation != foldGeneration) {
+                return;
+            }
+            snapshot = built;
+            generation++;
+            // Entries saved again while the fold ran stay in the overlay
+            folded.forEach((partId, part) -> {
+                if (overlay.containsKey(partId) && overlay.get(partId) == part) {
+                    overlay.remove(partId);
+                }
+            });
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> tokens(String name) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (name == null) {
+            return tokens;
+        }
+        for (String token : name.split("\\s+")) {
+            String key = normalize(token);
+            if (!key.isEmpty()) {
+                tokens.add(key);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = build(List.of());
+
+        final String[] partIds;
+        final String[] partNames;
+        final KeyArray idKeys;
+        final KeyArray nameKeys;
+
+        private Snapshot(String[] partIds, String[] partNames, KeyArray idKeys, KeyArray nameKeys) {
+            this.partIds = partIds;
+            this.partNames = partNames;
+            this.idKeys = idKeys;
+            this.nameKeys = nameKeys;
+        }
+
+        static Snapshot build(Collection<Part> parts) {
+            int size = parts.size();
+            String[] partIds = new String[size];
+            String[] partNames = new String[size];
+            List<Entry> idEntries = new ArrayList<>(size);
+            List<Entry> nameEntries = new ArrayList<>(size * 3);
+
+            int ordinal = 0;
+            for (Part part : parts) {
+                partIds[ordinal] = part.getPartId();
+                partNames[ordinal] = part.getPartName();
+                idEntries.add(new Entry(normalize(part.getPartId()), ordinal));
+                for (String token : tokens(part.getPartName())) {
+                    nameEntries.add(new Entry(token, ordinal));
+                }
+                ordinal++;
+            }
+            return new Snapshot(partIds, partNames, KeyArray.of(idEntries), KeyArray.of(nameEntries));
+        }
+    }
+
+    private static final class KeyArray {
+
+        final String[] keys;
+        final int[] ordinals;
+
+        private KeyArray(String[] keys, int[] ordinals) {
+            this.keys = keys;
+            this.ordinals = ordinals;
+        }
+
+        static KeyArray of(List<Entry> entries) {
+            entries.sort((a, b) -> a.key().compareTo(b.key()));
+
+            String[] keys = new String[entries.size()];
+            int[] ordinals = new int[entries.size()];
+            String previous = null;
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                // Share one String instance between equal keys (e.g. common name words)
+                keys[i] = entry.key().equals(previous) ? previous : entry.key();
+                previous = keys[i];
+                ordinals[i] = entry.ordinal();
+            }
+            return new KeyArray(keys, ordinals);
+        }
+
+        int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record Entry(String key, int ordinal) {
+    }
+}
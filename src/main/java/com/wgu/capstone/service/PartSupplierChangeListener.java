@@ -0,0 +1,32 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.PartSupplier;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that invalidates cached comparisons for a part whenever
+ * one of its supplier rows is inserted, changed (stock or price) or deleted.
+ * Hibernate only fires {@code @PostUpdate} for rows that are actually dirty.
+ */
+@Component
+public class PartSupplierChangeListener {
+
+    private final ComparisonCache comparisonCache;
+
+    public PartSupplierChangeListener(ComparisonCache comparisonCache) {
+        this.comparisonCache = comparisonCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(PartSupplier partSupplier) {
+        String partId = partSupplier.getPartId();
+        if (partId != null) {
+            TransactionCallbacks.afterCommit(() -> comparisonCache.invalidate(partId));
+        }
+    }
+}
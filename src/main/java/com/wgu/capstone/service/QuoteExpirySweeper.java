@@ -0,0 +1,146 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.repository.OrderRepository.ReservedStock;
+import com.wgu.capstone.repository.PartSupplierRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Deletes QUOTE orders that have not been touched for the configured TTL and
+ * puts their reserved stock back. Disabled unless a positive TTL is configured.
+ *
+ * Each batch is one transaction of a handful of set-based statements: find
+ * the expired order IDs, sum their reserved quantities per supplier offer,
+ * bulk-delete items and orders, then release the sums in one JDBC batch.
+ * The deletes recheck status and age; if any quote was touched after the
+ * sums were read, the batch rolls back rather than release stale sums.
+ */
+@Component
+public class QuoteExpirySweeper {
+
+    private final OrderRepository orderRepository;
+    private final PartSupplierRepository partSupplierRepository;
+    private final ComparisonCache comparisonCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration ttl;
+    private final int batchSize;
+    private final Counter expiredQuotes;
+
+    @Autowired
+    public QuoteExpirySweeper(
+            OrderRepository orderRepository,
+            PartSupplierRepository partSupplierRepository,
+            ComparisonCache comparisonCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${capstone.quote.expiry.ttl-minutes:0}") long ttlMinutes,
+            @Value("${capstone.quote.expiry.batch-size:500}") int batchSize
+    ) {
+        this(orderRepository, partSupplierRepository, comparisonCache, transactionManager, meterRegistry,
+                Duration.ofMinutes(ttlMinutes), batchSize, Clock.systemUTC());
+    }
+
+    QuoteExpirySweeper(
+            OrderRepository orderRepository,
+            PartSupplierRepository partSupplierRepository,
+            ComparisonCache comparisonCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            Duration ttl,
+            int batchSize,
+            Clock clock
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Quote expiry batch size must be at least 1");
+        }
+        this.orderRepository = orderRepository;
+        this.partSupplierRepository = partSupplierRepository;
+        this.comparisonCache = comparisonCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        this.expiredQuotes = Counter.builder("quotes.expired").register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${capstone.quote.expiry.sweep-interval-ms:60000}",
+            fixedDelayString = "${capstone.quote.expiry.sweep-interval-ms:60000}"
+    )
+    public void sweep() {
+        expireQuotes();
+    }
+
+    /**
+     * Expires every quote last updated before now minus the TTL.
+     *
+     * @return number of quotes deleted
+     */
+    public int expireQuotes() {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return 0;
+        }
+        Instant cutoff = clock.instant().minus(ttl);
+
+        int total = 0;
+        while (true) {
+            Integer expired = transactionTemplate.execute(status -> expireBatch(cutoff));
+            total += expired;
+            if (expired < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int expireBatch(Instant cutoff) {
+        List<Long> orderIds = orderRepository.findIdsByStatusUpdatedBefore(
+                OrderStatus.QUOTE, cutoff, Limit.of(batchSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        // Ascending ID order, like quote reservation, so the two never deadlock
+        SortedMap<Long, Integer> quantityById = new TreeMap<>();
+        Set<String> partIds = new LinkedHashSet<>();
+        for (ReservedStock reserved : orderRepository.sumReservedStock(orderIds)) {
+            quantityById.put(reserved.getPartSupplierId(), Math.toIntExact(reserved.getQuantity()));
+            partIds.add(reserved.getPartId());
+        }
+
+        orderRepository.deleteItemsOfOrdersUpdatedBefore(orderIds, OrderStatus.QUOTE, cutoff);
+        int deleted = orderRepository.deleteByIdsAndStatusUpdatedBefore(orderIds, OrderStatus.QUOTE, cutoff);
+        if (deleted != orderIds.size()) {
+            // A quote was checked out, repriced or deleted mid-sweep; roll back and let the next run retry
+            throw new IllegalStateException(
+                    "Quote expiry lost a race: expected " + orderIds.size() + " quotes, deleted " + deleted);
+        }
+
+        if (!quantityById.isEmpty()) {
+            partSupplierRepository.releaseStockBatch(quantityById);
+        }
+
+        expiredQuotes.increment(deleted);
+        partIds.forEach(partId ->
+                TransactionCallbacks.afterCommit(() -> comparisonCache.invalidate(partId)));
+        return deleted;
+    }
+}
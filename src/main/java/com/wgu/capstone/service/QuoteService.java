@@ -6,53 +6,80 @@ import com.wgu.capstone.entity.PartSupplier;
 import com.wgu.capstone.entity.enums.OrderStatus;
 import com.wgu.capstone.repository.OrderRepository;
 import com.wgu.capstone.repository.PartSupplierRepository;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class QuoteService {
 
+    private static final int MAX_QUOTE_LINES = 100;
+    private static final String METRICS_NAME = "quote";
+
     private final OrderRepository orderRepository;
     private final PartSupplierRepository partSupplierRepository;
+    private final ComparisonCache comparisonCache;
+    private final OrderReadModel orderReadModel;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final TransactionTemplate transactionTemplate;
+    private final ServiceMetrics metrics;
+    private final StockUpdateMode stockUpdateMode;
 
     public QuoteService(
             OrderRepository orderRepository,
-            PartSupplierRepository partSupplierRepository
+            PartSupplierRepository partSupplierRepository,
+            ComparisonCache comparisonCache,
+            OrderReadModel orderReadModel,
+            OptimisticLockRetry optimisticLockRetry,
+            PlatformTransactionManager transactionManager,
+            ServiceMetrics metrics,
+            @Value("${capstone.quote.stock-update-mode:ATOMIC}") StockUpdateMode stockUpdateMode
     ) {
         this.orderRepository = orderRepository;
         this.partSupplierRepository = partSupplierRepository;
+        this.comparisonCache = comparisonCache;
+        this.orderReadModel = orderReadModel;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.stockUpdateMode = stockUpdateMode != null ? stockUpdateMode : StockUpdateMode.ATOMIC;
     }
 
-    @Transactional
+    // Mutations run one transaction per attempt, so a lost optimistic-lock race can be retried cleanly
     public Order saveQuote(Long partSupplierId, Integer quantity, Boolean isCartItem) {
+        return metrics.time(METRICS_NAME, "saveQuote", () -> optimisticLockRetry.execute("saveQuote", () ->
+                transactionTemplate.execute(status -> doSaveQuote(partSupplierId, quantity, isCartItem))
+        ));
+    }
+
+    private Order doSaveQuote(Long partSupplierId, Integer quantity, Boolean isCartItem) {
 
         if (quantity == null || quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than zero");
         }
 
-        PartSupplier partSupplier = partSupplierRepository.findByIdWithRelations(partSupplierId)
-                .orElseThrow(() ->
-                        new IllegalArgumentException("Invalid part supplier ID: " + partSupplierId)
-                );
+        PartSupplier partSupplier = reserve(partSupplierId, quantity);
 
         // Ensure Part is loaded
         if (partSupplier.getPart() == null) {
             throw new IllegalStateException("Part information is missing for part supplier: " + partSupplierId);
         }
 
-        // Validate stock before proceeding
-        if (partSupplier.getNumInStock() == null || partSupplier.getNumInStock() < quantity) {
-            throw new IllegalStateException(
-                    "Not enough stock. Available: " + 
-                    (partSupplier.getNumInStock() != null ? partSupplier.getNumInStock() : 0) + 
-                    ", requested: " + quantity
-            );
-        }
-
         // Create a new order (QUOTE)
         Order order = new Order();
         order.setStatus(OrderStatus.QUOTE);
@@ -74,31 +101,80 @@ public class QuoteService {
         // Maintain bidirectional relationship
         order.addItem(item);
 
-        // Reserve inventory (this modifies numInStock)
-        partSupplier.calculateStock(quantity);
-        
-        // Save the updated PartSupplier with new stock level
-        partSupplierRepository.save(partSupplier);
+        return orderRepository.save(order);
+    }
+
+    /**
+     * Saves one quote with an item per line. Stock for every line is reserved
+     * in the same transaction, so either all lines are reserved or none are.
+     * Lines for the same supplier offer are merged.
+     */
+    public Order saveQuoteLines(List<QuoteLine> lines, Boolean isCartItem) {
+        return metrics.time(METRICS_NAME, "saveQuoteLines", () -> optimisticLockRetry.execute("saveQuoteLines", () ->
+                transactionTemplate.execute(status -> doSaveQuoteLines(lines, isCartItem))
+        ));
+    }
 
-        // Recalculate totals
-        order.recalculateTotals();
+    private Order doSaveQuoteLines(List<QuoteLine> lines, Boolean isCartItem) {
+        Map<Long, Integer> quantityById = mergeLines(lines);
+        Map<Long, PartSupplier> partSuppliers = reserveAll(new TreeMap<>(quantityById));
+
+        Order order = new Order();
+        order.setStatus(OrderStatus.QUOTE);
+        order.setIsCartItem(isCartItem != null ? isCartItem : false);
+
+        // Items keep the request's line order; prices are locked at time of quote
+        quantityById.forEach((partSupplierId, quantity) -> {
+            PartSupplier partSupplier = partSuppliers.get(partSupplierId);
+            OrderItem item = new OrderItem(order, partSupplier.getPart(), quantity, partSupplier.getPartCost());
+            item.setSelectedSupplier(partSupplier);
+            order.addItem(item);
+        });
 
         return orderRepository.save(order);
     }
 
+    private static Map<Long, Integer> mergeLines(List<QuoteLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("At least one quote line is required");
+        }
+        if (lines.size() > MAX_QUOTE_LINES) {
+            throw new IllegalArgumentException("At most " + MAX_QUOTE_LINES + " quote lines are allowed per request");
+        }
+
+        Map<Long, Integer> quantityById = new LinkedHashMap<>();
+        for (QuoteLine line : lines) {
+            if (line == null || line.partSupplierId() == null) {
+                throw new IllegalArgumentException("Part supplier ID is required for every quote line");
+            }
+            if (line.quantity() == null || line.quantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than zero");
+            }
+            quantityById.merge(line.partSupplierId(), line.quantity(), Integer::sum);
+        }
+        return quantityById;
+    }
+
     @GetMapping
-    public List<Order> getAllQuotes() {
+    public List<OrderSummaryDto> getAllQuotes() {
         // Return only saved quotes (not cart items)
-        return orderRepository.findByStatusAndIsCartItem(OrderStatus.QUOTE, false);
+        return metrics.time(METRICS_NAME, "getAllQuotes", () ->
+                orderReadModel.findByStatusAndIsCartItem(OrderStatus.QUOTE, false));
     }
 
-    public List<Order> getCartItems() {
+    public List<OrderSummaryDto> getCartItems() {
         // Return only cart items
-        return orderRepository.findByStatusAndIsCartItem(OrderStatus.QUOTE, true);
+        return metrics.time(METRICS_NAME, "getCartItems", () ->
+                orderReadModel.findByStatusAndIsCartItem(OrderStatus.QUOTE, true));
     }
     
-    @Transactional
     public void deleteQuote(Long orderId) {
+        metrics.run(METRICS_NAME, "deleteQuote", () -> optimisticLockRetry.run("deleteQuote", () ->
+                transactionTemplate.executeWithoutResult(status -> doDeleteQuote(orderId))
+        ));
+    }
+
+    private void doDeleteQuote(Long orderId) {
         // Fetch order with items and their selected suppliers
         Order order = orderRepository.findByIdWithRelations(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Quote not found: " + orderId));
@@ -110,15 +186,7 @@ public class QuoteService {
         // Restore stock for each item in the order
         for (OrderItem item : order.getItems()) {
             if (item.getSelectedSupplier() != null) {
-                Long partSupplierId = item.getSelectedSupplier().getPartSupplierId();
-                PartSupplier partSupplier = partSupplierRepository.findByIdWithRelations(partSupplierId)
-                        .orElse(null);
-                
-                if (partSupplier != null) {
-                    // Restore the stock that was reserved
-                    partSupplier.restock(item.getQuantity());
-                    partSupplierRepository.save(partSupplier);
-                }
+                release(item.getSelectedSupplier(), item.getQuantity());
             }
         }
         
@@ -126,8 +194,13 @@ public class QuoteService {
         orderRepository.delete(order);
     }
     
-    @Transactional
     public Order updateQuoteSupplier(Long orderId, Long newPartSupplierId) {
+        return metrics.time(METRICS_NAME, "updateQuoteSupplier", () -> optimisticLockRetry.execute("updateQuoteSupplier", () ->
+                transactionTemplate.execute(status -> doUpdateQuoteSupplier(orderId, newPartSupplierId))
+        ));
+    }
+
+    private Order doUpdateQuoteSupplier(Long orderId, Long newPartSupplierId) {
         // Fetch order with items and their selected suppliers
         Order order = orderRepository.findByIdWithRelations(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Quote not found: " + orderId));
@@ -154,38 +227,163 @@ public class QuoteService {
             );
         }
         
-        // Validate stock availability
-        if (newPartSupplier.getNumInStock() == null || newPartSupplier.getNumInStock() < item.getQuantity()) {
-            throw new IllegalStateException(
-                    "Not enough stock. Available: " + 
-                    (newPartSupplier.getNumInStock() != null ? newPartSupplier.getNumInStock() : 0) + 
-                    ", requested: " + item.getQuantity()
-            );
-        }
-        
-        // Restore stock from old supplier
+        // Reserve stock from new supplier, then restore stock to old supplier
+        reserve(newPartSupplierId, newPartSupplier, item.getQuantity());
         if (item.getSelectedSupplier() != null) {
-            Long oldPartSupplierId = item.getSelectedSupplier().getPartSupplierId();
-            PartSupplier oldPartSupplier = partSupplierRepository.findByIdWithRelations(oldPartSupplierId)
-                    .orElse(null);
-            
-            if (oldPartSupplier != null) {
-                oldPartSupplier.restock(item.getQuantity());
-                partSupplierRepository.save(oldPartSupplier);
-            }
+            release(item.getSelectedSupplier(), item.getQuantity());
         }
         
-        // Reserve stock from new supplier
-        newPartSupplier.calculateStock(item.getQuantity());
-        partSupplierRepository.save(newPartSupplier);
-        
         // Update the order item with new supplier and price
         item.setSelectedSupplier(newPartSupplier);
         item.setUnitPrice(newPartSupplier.getPartCost());
-        
-        // Recalculate totals
-        order.recalculateTotals();
+        order.markUpdated();
         
         return orderRepository.save(order);
     }
-}
\ No newline at end of file
+
+    // ===== Stock updates =====
+
+    private PartSupplier reserve(Long partSupplierId, int quantity) {
+        if (stockUpdateMode == StockUpdateMode.OPTIMISTIC) {
+            PartSupplier partSupplier = findPartSupplier(partSupplierId);
+            reserve(partSupplierId, partSupplier, quantity);
+            return partSupplier;
+        }
+
+        // Reserve first so the row is read back with the reserved stock
+        int reserved = partSupplierRepository.reserveStock(partSupplierId, quantity);
+        PartSupplier partSupplier = findPartSupplier(partSupplierId);
+        if (reserved == 0) {
+            countInsufficientStock(1);
+            throw notEnoughStock(partSupplier, quantity);
+        }
+        countReservedAfterCommit(1);
+        invalidateComparisonsAfterCommit(partSupplier.getPartId());
+        return partSupplier;
+    }
+
+    private void reserve(Long partSupplierId, PartSupplier partSupplier, int quantity) {
+        if (stockUpdateMode == StockUpdateMode.OPTIMISTIC) {
+            // Version-checked at flush; a concurrent writer makes this attempt fail and retry
+            takeStock(partSupplier, quantity);
+            partSupplierRepository.save(partSupplier);
+            countReservedAfterCommit(1);
+            return;
+        }
+
+        // One conditional UPDATE, no read-modify-write on the entity
+        if (partSupplierRepository.reserveStock(partSupplierId, quantity) == 0) {
+            countInsufficientStock(1);
+            throw notEnoughStock(partSupplier, quantity);
+        }
+        countReservedAfterCommit(1);
+        invalidateComparisonsAfterCommit(partSupplier.getPartId());
+    }
+
+    private void release(PartSupplier partSupplier, int quantity) {
+        if (stockUpdateMode == StockUpdateMode.OPTIMISTIC) {
+            partSupplier.restock(quantity);
+            partSupplierRepository.save(partSupplier);
+            return;
+        }
+
+        partSupplierRepository.releaseStock(partSupplier.getPartSupplierId(), quantity);
+        invalidateComparisonsAfterCommit(partSupplier.getPartId());
+    }
+
+    // Rows are always reserved in ascending ID order so concurrent quotes cannot deadlock
+    private Map<Long, PartSupplier> reserveAll(SortedMap<Long, Integer> quantityById) {
+        List<Long> failed = stockUpdateMode == StockUpdateMode.OPTIMISTIC
+                ? List.of()
+                : partSupplierRepository.reserveStockBatch(quantityById);
+
+        // Loaded after the batch, so it reflects the reserved stock
+        Map<Long, PartSupplier> partSuppliers = partSupplierRepository.findAllByIdWithRelations(quantityById.keySet())
+                .stream()
+                .collect(Collectors.toMap(PartSupplier::getPartSupplierId, Function.identity()));
+
+        for (Long partSupplierId : quantityById.keySet()) {
+            if (!partSuppliers.containsKey(partSupplierId)) {
+                throw new IllegalArgumentException("Invalid part supplier ID: " + partSupplierId);
+            }
+        }
+
+        if (stockUpdateMode == StockUpdateMode.OPTIMISTIC) {
+            // Flushed in ID order (hibernate.order_updates) and version-checked at commit
+            quantityById.forEach((partSupplierId, quantity) ->
+                    takeStock(partSuppliers.get(partSupplierId), quantity));
+            partSupplierRepository.saveAll(partSuppliers.values());
+            countReservedAfterCommit(quantityById.size());
+            return partSuppliers;
+        }
+
+        if (!failed.isEmpty()) {
+            countInsufficientStock(failed.size());
+            List<String> shortages = new ArrayList<>(failed.size());
+            for (Long partSupplierId : failed) {
+                shortages.add(notEnoughStock(partSuppliers.get(partSupplierId), quantityById.get(partSupplierId)).getMessage()
+                        + " (part supplier " + partSupplierId + ")");
+            }
+            throw new IllegalStateException(String.join("; ", shortages));
+        }
+
+        countReservedAfterCommit(quantityById.size());
+        Set<String> partIds = new LinkedHashSet<>();
+        partSuppliers.values().forEach(partSupplier -> partIds.add(partSupplier.getPartId()));
+        partIds.forEach(this::invalidateComparisonsAfterCommit);
+        return partSuppliers;
+    }
+
+    private void takeStock(PartSupplier partSupplier, int quantity) {
+        try {
+            partSupplier.calculateStock(quantity);
+        } catch (IllegalStateException ex) {
+            countInsufficientStock(1);
+            throw ex;
+        }
+    }
+
+    // Counted per offer line; a reservation only counts once its transaction commits
+    private void countReservedAfterCommit(int lines) {
+        TransactionCallbacks.afterCommit(() -> metrics.increment("stock.reservations", lines, "result", "reserved"));
+    }
+
+    private void countInsufficientStock(int lines) {
+        metrics.increment("stock.reservations", lines, "result", "insufficient_stock");
+    }
+
+    private PartSupplier findPartSupplier(Long partSupplierId) {
+        return partSupplierRepository.findByIdWithRelations(partSupplierId)
+                .orElseThrow(() ->
+                        new IllegalArgumentException("Invalid part supplier ID: " + partSupplierId)
+                );
+    }
+
+    private static IllegalStateException notEnoughStock(PartSupplier partSupplier, int quantity) {
+        return new IllegalStateException(
+                "Not enough stock. Available: " + 
+                (partSupplier.getNumInStock() != null ? partSupplier.getNumInStock() : 0) + 
+                ", requested: " + quantity
+        );
+    }
+
+    // Bulk updates bypass entity listeners, so drop cached comparisons explicitly
+    private void invalidateComparisonsAfterCommit(String partId) {
+        if (partId != null) {
+            TransactionCallbacks.afterCommit(() -> comparisonCache.invalidate(partId));
+        }
+    }
+
+    public record QuoteLine(Long partSupplierId, Integer quantity) {
+    }
+
+    /**
+     * How quote mutations change supplier stock. ATOMIC uses conditional bulk
+     * UPDATEs; OPTIMISTIC loads the row, changes it and relies on the
+     * {@code @Version} check, retrying with backoff when another writer wins.
+     */
+    public enum StockUpdateMode {
+        ATOMIC,
+        OPTIMISTIC
+    }
+}
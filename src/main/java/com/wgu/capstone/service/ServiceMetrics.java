@@ -0,0 +1,88 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for the service layer. Operations are timed into
+ * {@code service.operations}, tagged by service, operation and exception,
+ * with a percentile histogram, and also recorded in the
+ * {@link SlowOperationLog}. Meters are registered once per name and tags
+ * and looked up from a local map afterwards.
+ */
+@Component
+public class ServiceMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowOperationLog slowOperationLog;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public ServiceMetrics(MeterRegistry meterRegistry, SlowOperationLog slowOperationLog) {
+        this.meterRegistry = meterRegistry;
+        this.slowOperationLog = slowOperationLog;
+    }
+
+    public <T> T time(String service, String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return action.get();
+        } catch (Throwable ex) {
+            // Errors too, so an OutOfMemoryError or assertion is not recorded as a success
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timers.computeIfAbsent(new TimerKey(service, operation, exception), key ->
+                    Timer.builder("service.operations")
+                            .tag("service", key.service())
+                            .tag("operation", key.operation())
+                            .tag("exception", key.exception())
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)
+            ).record(elapsed, TimeUnit.NANOSECONDS);
+            slowOperationLog.record(service + "." + operation, elapsed);
+        }
+    }
+
+    public void run(String service, String operation, Runnable action) {
+        time(service, operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void increment(String name, String... tags) {
+        increment(name, 1, tags);
+    }
+
+    public void increment(String name, long amount, String... tags) {
+        counters.computeIfAbsent(new MeterKey(name, List.of(tags)), key ->
+                Counter.builder(name).tags(tags).register(meterRegistry)
+        ).increment(amount);
+    }
+
+    public void recordSize(String name, long size) {
+        summaries.computeIfAbsent(name, key ->
+                DistributionSummary.builder(key).publishPercentileHistogram().register(meterRegistry)
+        ).record(size);
+    }
+
+    private record TimerKey(String service, String operation, String exception) {
+    }
+
+    private record MeterKey(String name, List<String> tags) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent calls: the first caller for a key runs the
+ * loader, and callers arriving while it runs wait for and share its result,
+ * or its exception. A caller that has waited {@code max-wait-ms} stops
+ * waiting and runs the loader itself, so a stuck leader slows followers down
+ * but never blocks them indefinitely.
+ *
+ * Nothing is cached: the key is released as soon as the leader finishes.
+ * Per name, {@code singleflight.calls} counts leader, shared and timed_out
+ * calls, and {@code singleflight.collapse.ratio} is shared / all calls.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxWaitMs;
+
+    public SingleFlight(
+            MeterRegistry meterRegistry,
+            @Value("${capstone.single-flight.enabled:true}") boolean enabled,
+            @Value("${capstone.single-flight.max-wait-ms:2000}") long maxWaitMs
+    ) {
+        if (maxWaitMs < 0) {
+            throw new IllegalArgumentException("Single-flight max wait must not be negative");
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * Runs {@code loader}, or shares the result of an identical call already
+     * running. Keys must implement equals and hashCode; {@code name} only
+     * separates the metrics and is part of the key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        FlightKey flightKey = new FlightKey(name, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        Meters counters = meters(name);
+
+        if (leader == null) {
+            counters.leader.increment();
+            return (T) lead(flightKey, flight, loader);
+        }
+
+        try {
+            Object result = leader.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            counters.shared.increment();
+            return (T) result;
+        } catch (TimeoutException e) {
+            counters.timedOut.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            counters.shared.increment();
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name + " " + key, e);
+        }
+    }
+
+    private Object lead(FlightKey flightKey, CompletableFuture<Object> flight, Supplier<?> loader) {
+        try {
+            Object result = loader.get();
+            // Released before completion so later callers start fresh rather than share a finished result
+            inFlight.remove(flightKey, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private Meters meters(String name) {
+        return meters.computeIfAbsent(name, n -> new Meters(meterRegistry, n));
+    }
+
+    private record FlightKey(String name, Object key) {
+    }
+
+    private static final class Meters {
+        private final Counter leader;
+        private final Counter shared;
+        private final Counter timedOut;
+
+        Meters(MeterRegistry meterRegistry, String name) {
+            this.leader = counter(meterRegistry, name, "leader");
+            this.shared = counter(meterRegistry, name, "shared");
+            this.timedOut = counter(meterRegistry, name, "timed_out");
+            Gauge.builder("singleflight.collapse.ratio", this, Meters::collapseRatio)
+                    .tag("name", name)
+                    .register(meterRegistry);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+            return Counter.builder("singleflight.calls").tag("name", name).tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        double collapseRatio() {
+            double total = leader.count() + shared.count() + timedOut.count();
+            return total == 0 ? 0 : shared.count() / total;
+        }
+    }
+}
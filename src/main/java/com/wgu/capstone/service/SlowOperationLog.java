@@ -0,0 +1,175 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.dto.SlowOperationsDto;
+import com.wgu.capstone.service.dto.SlowOperationsDto.OperationDto;
+import com.wgu.capstone.service.dto.SlowOperationsDto.SampleDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The slowest service operations of the last few minutes, for the slowops
+ * actuator endpoint.
+ *
+ * The window is a ring of buckets, each covering a tenth of it. A bucket
+ * keeps count, total and maximum per operation plus its slowest samples, and
+ * is reset when the ring comes round to it again. Recording a fast operation
+ * only touches counters; the sample heap is locked only when a duration beats
+ * the bucket's current cut-off.
+ */
+@Component
+public class SlowOperationLog {
+
+    private static final int BUCKETS = 10;
+    private static final Comparator<Sample> BY_DURATION = Comparator.comparingLong(Sample::durationNanos);
+
+    private final Clock clock;
+    private final Duration window;
+    private final long bucketMillis;
+    private final int top;
+    private final Bucket[] ring = new Bucket[BUCKETS];
+
+    @Autowired
+    public SlowOperationLog(
+            @Value("${capstone.metrics.slow-ops.window-seconds:300}") long windowSeconds,
+            @Value("${capstone.metrics.slow-ops.top:20}") int top
+    ) {
+        this(Duration.ofSeconds(windowSeconds), top, Clock.systemUTC());
+    }
+
+    SlowOperationLog(Duration window, int top, Clock clock) {
+        if (window.toMillis() < BUCKETS) {
+            throw new IllegalArgumentException("Slow operation window must be at least " + BUCKETS + " ms");
+        }
+        if (top < 1) {
+            throw new IllegalArgumentException("Slow operation top must be at least 1");
+        }
+        this.clock = clock;
+        this.window = window;
+        this.bucketMillis = window.toMillis() / BUCKETS;
+        this.top = top;
+        for (int i = 0; i < BUCKETS; i++) {
+            ring[i] = new Bucket();
+        }
+    }
+
+    public void record(String operation, long durationNanos) {
+        long now = clock.millis();
+        Bucket bucket = bucket(now / bucketMillis);
+        bucket.stats.computeIfAbsent(operation, name -> new Stats()).add(durationNanos);
+
+        if (durationNanos > bucket.cutOff) {
+            synchronized (bucket) {
+                bucket.slowest.add(new Sample(operation, durationNanos, now));
+                if (bucket.slowest.size() > top) {
+                    bucket.slowest.poll();
+                }
+                if (bucket.slowest.size() == top) {
+                    bucket.cutOff = bucket.slowest.peek().durationNanos();
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-operation totals, slowest maximum first, and the slowest samples
+     * across the whole window.
+     */
+    public SlowOperationsDto snapshot() {
+        long current = clock.millis() / bucketMillis;
+        Map<String, long[]> totals = new HashMap<>();
+        PriorityQueue<Sample> slowest = new PriorityQueue<>(BY_DURATION);
+
+        for (Bucket bucket : ring) {
+            synchronized (bucket) {
+                if (bucket.epoch <= current - BUCKETS) {
+                    continue;
+                }
+                bucket.stats.forEach((operation, stats) -> {
+                    long[] sum = totals.computeIfAbsent(operation, name -> new long[3]);
+                    sum[0] += stats.count.sum();
+                    sum[1] += stats.totalNanos.sum();
+                    sum[2] = Math.max(sum[2], stats.maxNanos.get());
+                });
+                for (Sample sample : bucket.slowest) {
+                    slowest.add(sample);
+                    if (slowest.size() > top) {
+                        slowest.poll();
+                    }
+                }
+            }
+        }
+
+        List<OperationDto> operations = new ArrayList<>(totals.size());
+        totals.forEach((operation, sum) -> operations.add(new OperationDto(
+                operation, sum[0], millis(sum[0] == 0 ? 0 : sum[1] / sum[0]), millis(sum[2]))));
+        operations.sort(Comparator.comparingDouble(OperationDto::getMaxMs).reversed());
+
+        List<Sample> samples = new ArrayList<>(slowest);
+        samples.sort(BY_DURATION.reversed());
+        List<SampleDto> slowestDtos = samples.stream()
+                .map(sample -> new SampleDto(sample.operation(), millis(sample.durationNanos()),
+                        Instant.ofEpochMilli(sample.finishedAtMillis())))
+                .toList();
+
+        return new SlowOperationsDto(window.toSeconds(), operations, slowestDtos);
+    }
+
+    private Bucket bucket(long epoch) {
+        Bucket bucket = ring[(int) (epoch % BUCKETS)];
+        if (bucket.epoch != epoch) {
+            synchronized (bucket) {
+                if (bucket.epoch != epoch) {
+                    bucket.reset(epoch);
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Bucket {
+        private volatile long epoch = -1;
+        private volatile long cutOff;
+        private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+        private final PriorityQueue<Sample> slowest = new PriorityQueue<>(BY_DURATION);
+
+        void reset(long newEpoch) {
+            stats.clear();
+            slowest.clear();
+            cutOff = 0;
+            epoch = newEpoch;
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+
+    private record Sample(String operation, long durationNanos, long finishedAtMillis) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.wgu.capstone.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Encodings a response body can be written in. Smile and CBOR carry the same
+ * fields as JSON in binary: numbers and decimals take a few bytes instead of
+ * their text, and Smile writes each field name once per response and refers
+ * back to it afterwards, which pays off on long arrays of orders.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // Same settings and modules as the JSON mapper, writing this encoding instead
+    public ObjectMapper mapperFrom(ObjectMapper json) {
+        return switch (this) {
+            case JSON -> json;
+            case SMILE -> json.copyWith(new SmileFactory());
+            case CBOR -> json.copyWith(new CBORFactory());
+        };
+    }
+
+    /**
+     * The encoding an Accept header prefers: highest q-value first, then an
+     * exact type over a wildcard, then JSON. Bodies that are written by hand
+     * use this to pick what the message converters would have picked.
+     */
+    public static WireFormat forAccept(String accept) {
+        List<MediaType> accepted = parse(accept);
+
+        WireFormat best = JSON;
+        double bestQuality = 0;
+        boolean bestExact = false;
+        for (WireFormat format : values()) {
+            MediaType match = mostSpecificMatch(accepted, format.mediaType);
+            if (match == null || match.getQualityValue() == 0) {
+                continue;
+            }
+            boolean exact = !match.isWildcardType() && !match.isWildcardSubtype();
+            if (match.getQualityValue() > bestQuality || (match.getQualityValue() == bestQuality && exact && !bestExact)) {
+                best = format;
+                bestQuality = match.getQualityValue();
+                bestExact = exact;
+            }
+        }
+        return best;
+    }
+
+    private static List<MediaType> parse(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return List.of(MediaType.ALL);
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of(MediaType.ALL);
+        }
+    }
+
+    // The q-value that applies is the one on the most specific range covering the type
+    private static MediaType mostSpecificMatch(List<MediaType> accepted, MediaType type) {
+        MediaType match = null;
+        for (MediaType range : accepted) {
+            if (range.includes(type) && (match == null || specificity(range) > specificity(match))) {
+                match = range;
+            }
+        }
+        return match;
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+}
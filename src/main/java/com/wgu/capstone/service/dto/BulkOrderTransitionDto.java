@@ -0,0 +1,31 @@
+package com.wgu.capstone.service.dto;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+
+import java.util.List;
+
+public class BulkOrderTransitionDto {
+
+    private final OrderStatus targetStatus;
+    private final int succeeded;
+    private final int failed;
+    private final List<OrderTransitionResultDto> results;
+
+    public BulkOrderTransitionDto(OrderStatus targetStatus, List<OrderTransitionResultDto> results) {
+        this.targetStatus = targetStatus;
+        this.results = results;
+        int ok = 0;
+        for (OrderTransitionResultDto result : results) {
+            if (result.isSuccess()) {
+                ok++;
+            }
+        }
+        this.succeeded = ok;
+        this.failed = results.size() - ok;
+    }
+
+    public OrderStatus getTargetStatus() { return targetStatus;}
+    public int getSucceeded() { return succeeded;}
+    public int getFailed() { return failed;}
+    public List<OrderTransitionResultDto> getResults() { return results;}
+}
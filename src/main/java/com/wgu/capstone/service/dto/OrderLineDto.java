@@ -0,0 +1,44 @@
+package com.wgu.capstone.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wgu.capstone.entity.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * One order item, flattened from item, part and supplier columns.
+ * {@code part} is still rendered as a nested object for existing clients.
+ */
+public class OrderLineDto {
+
+    private final Long orderId;
+    private final Long orderItemId;
+    private final PartRef part;
+    private final Integer quantity;
+    private final BigDecimal unitPrice;
+    private final Long partSupplierId;
+    private final String supplierName;
+
+    public OrderLineDto(Long orderId, Long orderItemId, String partId, String partName, Integer quantity,
+                        long unitPriceCents, Long partSupplierId, String supplierName) {
+        this.orderId = orderId;
+        this.orderItemId = orderItemId;
+        this.part = new PartRef(partId, partName);
+        this.quantity = quantity;
+        this.unitPrice = Money.toDecimal(unitPriceCents);
+        this.partSupplierId = partSupplierId;
+        this.supplierName = supplierName;
+    }
+
+    @JsonIgnore
+    public Long getOrderId() { return orderId;}
+    public Long getOrderItemId() { return orderItemId;}
+    public PartRef getPart() { return part;}
+    public Integer getQuantity() { return quantity;}
+    public BigDecimal getUnitPrice() { return unitPrice;}
+    public Long getPartSupplierId() { return partSupplierId;}
+    public String getSupplierName() { return supplierName;}
+
+    public record PartRef(String partId, String partName) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.wgu.capstone.service.dto;
+
+import java.util.List;
+
+public class OrderPageDto {
+
+    private final List<OrderSummaryDto> orders;
+    private final String nextCursor;
+
+    public OrderPageDto(List<OrderSummaryDto> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderSummaryDto> getOrders() { return orders;}
+    public String getNextCursor() { return nextCursor;}
+}
@@ -0,0 +1,49 @@
+package com.wgu.capstone.service.dto;
+
+import com.wgu.capstone.entity.Money;
+import com.wgu.capstone.entity.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of an order for list endpoints. Built from a JPQL
+ * constructor expression; the JSON shape matches the {@code Order} entity.
+ */
+public class OrderSummaryDto {
+
+    private final Long orderId;
+    private final OrderStatus status;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final BigDecimal totalAmount;
+    private final BigDecimal taxAmount;
+    private final Boolean isCartItem;
+    private final List<OrderLineDto> items = new ArrayList<>();
+
+    public OrderSummaryDto(Long orderId, OrderStatus status, Instant createdAt, Instant updatedAt,
+                           long totalCents, long taxCents, Boolean isCartItem) {
+        this.orderId = orderId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.totalAmount = Money.toDecimal(totalCents);
+        this.taxAmount = Money.toDecimal(taxCents);
+        this.isCartItem = isCartItem;
+    }
+
+    public void addItem(OrderLineDto item) {
+        items.add(item);
+    }
+
+    public Long getOrderId() { return orderId;}
+    public OrderStatus getStatus() { return status;}
+    public Instant getCreatedAt() { return createdAt;}
+    public Instant getUpdatedAt() { return updatedAt;}
+    public BigDecimal getTotalAmount() { return totalAmount;}
+    public BigDecimal getTaxAmount() { return taxAmount;}
+    public Boolean getIsCartItem() { return isCartItem;}
+    public List<OrderLineDto> getItems() { return items;}
+}
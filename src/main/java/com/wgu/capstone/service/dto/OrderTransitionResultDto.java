@@ -0,0 +1,18 @@
+package com.wgu.capstone.service.dto;
+
+public class OrderTransitionResultDto {
+
+    private final Long orderId;
+    private final boolean success;
+    private final String message;
+
+    public OrderTransitionResultDto(Long orderId, boolean success, String message) {
+        this.orderId = orderId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public Long getOrderId() { return orderId;}
+    public boolean isSuccess() { return success;}
+    public String getMessage() { return message;}
+}
@@ -0,0 +1,19 @@
+package com.wgu.capstone.service.dto;
+
+import com.wgu.capstone.entity.Part;
+
+import java.util.List;
+
+public class PartSearchPageDto {
+
+    private final List<Part> parts;
+    private final String nextCursor;
+
+    public PartSearchPageDto(List<Part> parts, String nextCursor) {
+        this.parts = parts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Part> getParts() { return parts;}
+    public String getNextCursor() { return nextCursor;}
+}
@@ -0,0 +1,15 @@
+package com.wgu.capstone.service.dto;
+
+public class PartSuggestionDto {
+
+    private final String partId;
+    private final String partName;
+
+    public PartSuggestionDto(String partId, String partName) {
+        this.partId = partId;
+        this.partName = partName;
+    }
+
+    public String getPartId() { return partId;}
+    public String getPartName() { return partName;}
+}
@@ -0,0 +1,58 @@
+package com.wgu.capstone.service.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SlowOperationsDto {
+
+    private final long windowSeconds;
+    private final List<OperationDto> operations;
+    private final List<SampleDto> slowest;
+
+    public SlowOperationsDto(long windowSeconds, List<OperationDto> operations, List<SampleDto> slowest) {
+        this.windowSeconds = windowSeconds;
+        this.operations = operations;
+        this.slowest = slowest;
+    }
+
+    public long getWindowSeconds() { return windowSeconds; }
+    public List<OperationDto> getOperations() { return operations; }
+    public List<SampleDto> getSlowest() { return slowest; }
+
+    public static class OperationDto {
+
+        private final String operation;
+        private final long count;
+        private final double meanMs;
+        private final double maxMs;
+
+        public OperationDto(String operation, long count, double meanMs, double maxMs) {
+            this.operation = operation;
+            this.count = count;
+            this.meanMs = meanMs;
+            this.maxMs = maxMs;
+        }
+
+        public String getOperation() { return operation; }
+        public long getCount() { return count; }
+        public double getMeanMs() { return meanMs; }
+        public double getMaxMs() { return maxMs; }
+    }
+
+    public static class SampleDto {
+
+        private final String operation;
+        private final double durationMs;
+        private final Instant finishedAt;
+
+        public SampleDto(String operation, double durationMs, Instant finishedAt) {
+            this.operation = operation;
+            this.durationMs = durationMs;
+            this.finishedAt = finishedAt;
+        }
+
+        public String getOperation() { return operation; }
+        public double getDurationMs() { return durationMs; }
+        public Instant getFinishedAt() { return finishedAt; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.wgu.capstone;
+
+import com.wgu.capstone.repository.QueryCounter;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails a test when the code under test runs more SQL statements than its
+ * budget, which is how N+1 query patterns show up. Only statements on the
+ * calling thread are counted, so use it with MockMvc or direct service
+ * calls against the real data source.
+ *
+ *   QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/quotes")));
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxQueries, ThrowingSupplier<T> action) throws Throwable {
+        T result;
+        long queries;
+        long rows;
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            result = action.get();
+            queries = scope.getQueries();
+            rows = scope.getRows();
+        }
+        if (queries > maxQueries) {
+            fail("Expected at most " + maxQueries + " SQL statements but " + queries + " ran (" + rows + " rows)");
+        }
+        return result;
+    }
+
+    public static void assertAtMost(int maxQueries, Executable action) throws Throwable {
+        assertAtMost(maxQueries, () -> {
+            action.execute();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.wgu.capstone;
+
+import com.wgu.capstone.SyntheticCatalogGenerator.Settings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyntheticCatalogGeneratorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGenerate_SameSeedProducesSameRows() {
+        // When
+        Map<String, List<Object[]>> first = generate(settings(7L));
+        reset(jdbcTemplate);
+        Map<String, List<Object[]>> second = generate(settings(7L));
+
+        // Then
+        assertEquals(first.keySet(), second.keySet());
+        for (String table : first.keySet()) {
+            assertEquals(first.get(table).size(), second.get(table).size(), table);
+            for (int i = 0; i < first.get(table).size(); i++) {
+                assertArrayEquals(first.get(table).get(i), second.get(table).get(i), table + " row " + i);
+            }
+        }
+    }
+
+    @Test
+    void testGenerate_DifferentSeedProducesDifferentOffers() {
+        // When
+        List<Object[]> first = generate(settings(7L)).get("part_suppliers");
+        reset(jdbcTemplate);
+        List<Object[]> second = generate(settings(8L)).get("part_suppliers");
+
+        // Then
+        assertFalse(first.size() == second.size()
+                && first.stream().map(row -> row[3]).toList().equals(second.stream().map(row -> row[3]).toList()));
+    }
+
+    @Test
+    void testGenerate_RespectsCountsAndOfferBounds() {
+        // When
+        Map<String, List<Object[]>> rows = generate(settings(7L));
+
+        // Then
+        assertEquals(200, rows.get("parts").size());
+        assertEquals(10, rows.get("suppliers").size());
+        assertEquals(300, rows.get("orders").size());
+
+        Map<Object, Set<Object>> suppliersByPart = new HashMap<>();
+        for (Object[] offer : rows.get("part_suppliers")) {
+            assertTrue(suppliersByPart.computeIfAbsent(offer[1], p -> new HashSet<>()).add(offer[2]),
+                    "duplicate supplier for part " + offer[1]);
+            assertTrue(((BigDecimal) offer[3]).compareTo(BigDecimal.ONE) >= 0);
+            assertTrue((Integer) offer[4] >= 0);
+        }
+        assertEquals(200, suppliersByPart.size());
+        suppliersByPart.values().forEach(suppliers -> assertTrue(suppliers.size() >= 2 && suppliers.size() <= 4));
+    }
+
+    @Test
+    void testGenerate_OrderTotalsMatchItems() {
+        // When
+        Map<String, List<Object[]>> rows = generate(settings(7L));
+
+        // Then
+        Map<Object, Long> subtotals = new HashMap<>();
+        for (Object[] item : rows.get("order_items")) {
+            subtotals.merge(item[1], (Integer) item[4] * (Long) item[5], Long::sum);
+        }
+        for (Object[] order : rows.get("orders")) {
+            long subtotal = (Long) order[4];
+            assertEquals(subtotals.get(order[0]), subtotal);
+            assertEquals(subtotal + (Long) order[5], order[6]);
+            assertNotEquals("QUOTE", order[1]);
+        }
+    }
+
+    @Test
+    void testGenerate_WritesOrdersBeforeTheirItems() {
+        // Given
+        List<String> tables = new ArrayList<>();
+        Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+        long[] maxOrderWritten = {0};
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            String table = table(invocation.getArgument(0));
+            List<Object[]> batch = invocation.getArgument(1);
+            tables.add(table);
+            rows.computeIfAbsent(table, t -> new ArrayList<>()).addAll(batch);
+            for (Object[] row : batch) {
+                if (table.equals("orders")) {
+                    maxOrderWritten[0] = Math.max(maxOrderWritten[0], (Long) row[0]);
+                } else if (table.equals("order_items")) {
+                    assertTrue((Long) row[1] <= maxOrderWritten[0], "item written before order " + row[1]);
+                }
+            }
+            return new int[batch.size()];
+        });
+
+        // When
+        new SyntheticCatalogGenerator(jdbcTemplate, settings(7L), CLOCK).generate();
+
+        // Then
+        assertEquals(List.of("parts", "suppliers", "part_suppliers", "orders", "order_items"),
+                tables.stream().distinct().toList());
+        verify(jdbcTemplate).execute("ALTER TABLE orders ALTER COLUMN order_id RESTART WITH 301");
+    }
+
+    @Test
+    void testSettings_RejectsInvalidOfferBounds() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new Settings(1L, 10, 5, 4, 2, 0.3, 0.1, 10, 0.05, 10, 3, 30, 100));
+    }
+
+    private Map<String, List<Object[]>> generate(Settings settings) {
+        Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            // The writer reuses its batch list, so copy the rows out
+            rows.computeIfAbsent(table(invocation.getArgument(0)), t -> new ArrayList<>()).addAll(batch);
+            return new int[batch.size()];
+        });
+        new SyntheticCatalogGenerator(jdbcTemplate, settings, CLOCK).generate();
+        return rows;
+    }
+
+    private static String table(String sql) {
+        return sql.substring("INSERT INTO ".length(), sql.indexOf(' ', "INSERT INTO ".length()));
+    }
+
+    private static Settings settings(long seed) {
+        return new Settings(seed, 200, 10, 2, 4, 0.35, 0.15, 15, 0.05, 300, 4, 90, 64);
+    }
+}
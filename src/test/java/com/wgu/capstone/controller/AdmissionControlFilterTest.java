@@ -0,0 +1,77 @@
+package com.wgu.capstone.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.service.AdmissionControl;
+import com.wgu.capstone.service.AdmissionControl.Endpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEndpoint_ClassifiesApiRequests() {
+        assertEquals(Endpoint.SEARCH, AdmissionControlFilter.endpoint("GET", "/parts/search"));
+        assertEquals(Endpoint.SEARCH, AdmissionControlFilter.endpoint("GET", "/parts/suggest"));
+        assertEquals(Endpoint.COMPARE, AdmissionControlFilter.endpoint("GET", "/parts/WPW10123456/compare"));
+        assertEquals(Endpoint.COMPARE, AdmissionControlFilter.endpoint("POST", "/parts/compare"));
+        assertEquals(Endpoint.ORDER_READS, AdmissionControlFilter.endpoint("GET", "/orders"));
+        assertEquals(Endpoint.ORDER_READS, AdmissionControlFilter.endpoint("GET", "/cart"));
+        assertEquals(Endpoint.ORDER_TRANSITIONS, AdmissionControlFilter.endpoint("POST", "/orders/5/checkout"));
+        assertEquals(Endpoint.ORDER_TRANSITIONS, AdmissionControlFilter.endpoint("POST", "/orders/bulk/cancel"));
+        assertEquals(Endpoint.QUOTES, AdmissionControlFilter.endpoint("POST", "/quotes/lines"));
+        assertEquals(Endpoint.QUOTES, AdmissionControlFilter.endpoint("DELETE", "/quotes/5"));
+        assertNull(AdmissionControlFilter.endpoint("GET", "/actuator/health"));
+        assertNull(AdmissionControlFilter.endpoint("OPTIONS", "/quotes"));
+        assertNull(AdmissionControlFilter.endpoint("GET", "/ordersx"));
+    }
+
+    @Test
+    void testDoFilter_RejectedRequestGetsRetryAfter() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(0.01, 1);
+        filter.doFilter(request("/parts/search"), new MockHttpServletResponse(), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/parts/search"), response, chain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("429", objectMapper.readTree(response.getContentAsString()).get("status").asText());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testDoFilter_UnlimitedPathsPassThrough() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(0.01, 1);
+        filter.doFilter(request("/actuator/health"), new MockHttpServletResponse(), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("/actuator/health"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+    }
+
+    private AdmissionControlFilter filter(double clientRate, int clientBurst) {
+        AdmissionControl admissionControl = new AdmissionControl(new SimpleMeterRegistry(),
+            20, 1000, 2000, 20, 500, 500, 20, 250, 50, clientRate, clientBurst, 1);
+        return new AdmissionControlFilter(admissionControl, objectMapper);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
@@ -0,0 +1,119 @@
+package com.wgu.capstone.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets for the main endpoints against the sample catalog. A budget
+ * failure usually means a new N+1 pattern: look at the statements the
+ * endpoint now runs before raising the number.
+ */
+@SpringBootTest(properties = "capstone.sql.metrics.enabled=true")
+@AutoConfigureMockMvc
+class ControllerQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testComparison_PartAndOffersInTwoQueries() throws Throwable {
+        QueryBudget.assertAtMost(2, () ->
+            mockMvc.perform(get("/parts/WPW10123457/compare")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testSearch_ServedFromIndex() throws Throwable {
+        QueryBudget.assertAtMost(0, () ->
+            mockMvc.perform(get("/parts/search").param("query", "washer")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testConditionalGet_NotModifiedRunsNoQueries() throws Throwable {
+        String compareTag = mockMvc.perform(get("/parts/WPW10123460/compare"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String searchTag = mockMvc.perform(get("/parts/search").param("query", "washer"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        QueryBudget.assertAtMost(0, () -> mockMvc.perform(get("/parts/WPW10123460/compare")
+            .header(HttpHeaders.IF_NONE_MATCH, compareTag)).andExpect(status().isNotModified()));
+        QueryBudget.assertAtMost(0, () -> mockMvc.perform(get("/parts/search").param("query", "washer")
+            .header(HttpHeaders.IF_NONE_MATCH, searchTag)).andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void testConditionalGet_ErrorsCarryNoETag() throws Exception {
+        MvcResult unknownPart = mockMvc.perform(get("/parts/NO-SUCH-PART/compare"))
+            .andExpect(status().isBadRequest()).andReturn();
+        MvcResult badCursor = mockMvc.perform(get("/parts/search").param("query", "washer").param("cursor", "!!"))
+            .andExpect(status().isBadRequest()).andReturn();
+
+        assertNull(unknownPart.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNull(badCursor.getResponse().getHeader(HttpHeaders.ETAG));
+        assertFalse(badCursor.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void testQuoteLifecycle_WithinBudget() throws Throwable {
+        // Reserve, load the offer, insert order and item; one more when a new block of item IDs is fetched
+        long orderId = QueryBudget.assertAtMost(6, () -> saveQuote(
+            "{\"partSupplierId\":1,\"quantity\":1,\"isCartItem\":false}", "/quotes"));
+
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/quotes")).andExpect(status().isOk()));
+        QueryBudget.assertAtMost(3, () -> mockMvc.perform(get("/orders")).andExpect(status().isOk()));
+        QueryBudget.assertAtMost(2, () ->
+            mockMvc.perform(post("/orders/" + orderId + "/checkout")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testSaveQuoteLines_BatchesReservations() throws Throwable {
+        String body = "{\"lines\":[{\"partSupplierId\":1,\"quantity\":1},{\"partSupplierId\":2,\"quantity\":1}," +
+            "{\"partSupplierId\":3,\"quantity\":1}],\"isCartItem\":false}";
+        // One batched reservation whatever the line count, plus an occasional item ID block fetch
+        long orderId = QueryBudget.assertAtMost(5, () -> saveQuote(body, "/quotes/lines"));
+
+        // Load, one stock release per item, delete items, delete order
+        QueryBudget.assertAtMost(6, () ->
+            mockMvc.perform(delete("/quotes/" + orderId)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testServerTimingHeader_ReportsQueries() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/parts/WPW10123458/compare")).andReturn();
+
+        // Then
+        String header = result.getResponse().getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.matches("db;dur=[0-9.]+;desc=\"2 queries, \\d+ rows\", app;dur=[0-9.]+"), header);
+    }
+
+    @Test
+    void testQueryBudget_FailsWhenExceeded() {
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () ->
+            QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/parts/WPW10123459/compare"))));
+        assertTrue(error.getMessage().startsWith("Expected at most 1 SQL statements but 2 ran"), error.getMessage());
+    }
+
+    private long saveQuote(String body, String path) throws Exception {
+        MvcResult result = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("orderId").asLong();
+    }
+}
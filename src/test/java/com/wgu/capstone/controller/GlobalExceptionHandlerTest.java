@@ -2,6 +2,7 @@ package com.wgu.capstone.controller;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -120,5 +121,19 @@ class GlobalExceptionHandlerTest {
         assertTrue(response.getBody().get("message").contains("Not enough stock"));
         assertEquals("500", response.getBody().get("status"));
     }
-}
 
+    @Test
+    void testHandleOptimisticLockingFailure() {
+        // Given
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("Row was updated");
+
+        // When
+        ResponseEntity<Map<String, String>> response =
+            exceptionHandler.handleOptimisticLockingFailure(exception);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("409", response.getBody().get("status"));
+    }
+}
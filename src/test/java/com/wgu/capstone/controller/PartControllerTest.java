@@ -1,15 +1,28 @@
 package com.wgu.capstone.controller;
 
+import com.wgu.capstone.controller.dto.CompareRequest;
 import com.wgu.capstone.entity.Part;
+import com.wgu.capstone.service.CatalogVersions;
+import com.wgu.capstone.service.ComparisonCache;
 import com.wgu.capstone.service.PartSearchService;
 import com.wgu.capstone.service.PartSearchService.SortMode;
 import com.wgu.capstone.service.dto.PartComparisonDto;
+import com.wgu.capstone.service.dto.PartSearchPageDto;
+import com.wgu.capstone.service.dto.PartSuggestionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +38,11 @@ class PartControllerTest {
     @Mock
     private PartSearchService partSearchService;
 
+    private final ComparisonCache comparisonCache = new ComparisonCache(new SimpleMeterRegistry(), 10);
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions(comparisonCache);
+
     @InjectMocks
     private PartController partController;
 
@@ -48,48 +66,67 @@ class PartControllerTest {
         // Given
         String query = "WPW";
         List<Part> expectedParts = Arrays.asList(testPart1, testPart2);
-        when(partSearchService.searchParts(query)).thenReturn(expectedParts);
+        when(partSearchService.searchParts(query, null, null))
+            .thenReturn(new PartSearchPageDto(expectedParts, null));
 
         // When
-        List<Part> result = partController.searchParts(query);
+        ResponseEntity<List<Part>> response = partController.searchParts(query, null, null, request());
+        List<Part> result = response.getBody();
 
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(expectedParts, result);
-        verify(partSearchService).searchParts(query);
+        assertFalse(response.getHeaders().containsKey(PartController.NEXT_CURSOR_HEADER));
+        verify(partSearchService).searchParts(query, null, null);
     }
 
     @Test
     void testSearchParts_EmptyResults() {
         // Given
         String query = "NONEXISTENT";
-        when(partSearchService.searchParts(query)).thenReturn(List.of());
+        when(partSearchService.searchParts(query, null, null))
+            .thenReturn(new PartSearchPageDto(List.of(), null));
 
         // When
-        List<Part> result = partController.searchParts(query);
+        List<Part> result = partController.searchParts(query, null, null, request()).getBody();
 
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(partSearchService).searchParts(query);
+        verify(partSearchService).searchParts(query, null, null);
+    }
+
+    @Test
+    void testSearchParts_NextCursorHeader() {
+        // Given
+        String query = "WPW";
+        when(partSearchService.searchParts(query, 1, null))
+            .thenReturn(new PartSearchPageDto(List.of(testPart1), "next-page"));
+
+        // When
+        ResponseEntity<List<Part>> response = partController.searchParts(query, 1, null, request());
+
+        // Then
+        assertEquals(1, response.getBody().size());
+        assertEquals("next-page", response.getHeaders().getFirst(PartController.NEXT_CURSOR_HEADER));
     }
 
     @Test
     void testComparePartSuppliers_WithoutSort() {
         // Given
         String partId = "WPW10123456";
-        when(partSearchService.getComparisonForPart(partId, null))
+        when(partSearchService.getComparisonForPart(partId, null, null, false))
             .thenReturn(testComparison);
 
         // When
-        PartComparisonDto result = partController.comparePartSuppliers(partId, null);
+        PartComparisonDto result = partController.comparePartSuppliers(partId, null, null, false, request()).getBody();
 
         // Then
         assertNotNull(result);
         assertEquals(testComparison, result);
         assertEquals(partId, result.getPartId());
-        verify(partSearchService).getComparisonForPart(partId, null);
+        verify(partSearchService).getComparisonForPart(partId, null, null, false);
     }
 
     @Test
@@ -97,16 +134,16 @@ class PartControllerTest {
         // Given
         String partId = "WPW10123456";
         SortMode sortMode = SortMode.CHEAPEST;
-        when(partSearchService.getComparisonForPart(partId, sortMode))
+        when(partSearchService.getComparisonForPart(partId, sortMode, null, false))
             .thenReturn(testComparison);
 
         // When
-        PartComparisonDto result = partController.comparePartSuppliers(partId, sortMode);
+        PartComparisonDto result = partController.comparePartSuppliers(partId, sortMode, null, false, request()).getBody();
 
         // Then
         assertNotNull(result);
         assertEquals(testComparison, result);
-        verify(partSearchService).getComparisonForPart(partId, sortMode);
+        verify(partSearchService).getComparisonForPart(partId, sortMode, null, false);
     }
 
     @Test
@@ -114,43 +151,148 @@ class PartControllerTest {
         // Given
         String partId = "WPW10123456";
         SortMode sortMode = SortMode.FASTEST_SHIPPING;
-        when(partSearchService.getComparisonForPart(partId, sortMode))
+        when(partSearchService.getComparisonForPart(partId, sortMode, null, false))
             .thenReturn(testComparison);
 
         // When
-        PartComparisonDto result = partController.comparePartSuppliers(partId, sortMode);
+        PartComparisonDto result = partController.comparePartSuppliers(partId, sortMode, null, false, request()).getBody();
 
         // Then
         assertNotNull(result);
-        verify(partSearchService).getComparisonForPart(partId, sortMode);
+        verify(partSearchService).getComparisonForPart(partId, sortMode, null, false);
     }
 
     @Test
     void testSearchParts_PropagatesException() {
         // Given
         String query = "";
-        when(partSearchService.searchParts(query))
+        when(partSearchService.searchParts(query, null, null))
             .thenThrow(new IllegalArgumentException("Search query cannot be empty"));
 
+        ServletWebRequest request = request();
+
         // When/Then
         assertThrows(IllegalArgumentException.class, () -> 
-            partController.searchParts(query)
+            partController.searchParts(query, null, null, request)
         );
-        verify(partSearchService).searchParts(query);
+        verify(partSearchService).searchParts(query, null, null);
+        assertNull(request.getResponse().getHeader(HttpHeaders.ETAG)); // No tag for a representation never produced
     }
 
     @Test
     void testComparePartSuppliers_PropagatesException() {
         // Given
         String partId = "INVALID";
-        when(partSearchService.getComparisonForPart(eq(partId), any()))
+        when(partSearchService.getComparisonForPart(eq(partId), any(), any(), eq(false)))
             .thenThrow(new IllegalArgumentException("Part not found: " + partId));
 
+        ServletWebRequest request = request();
+
         // When/Then
         assertThrows(IllegalArgumentException.class, () -> 
-            partController.comparePartSuppliers(partId, null)
+            partController.comparePartSuppliers(partId, null, null, false, request)
         );
-        verify(partSearchService).getComparisonForPart(partId, null);
+        verify(partSearchService).getComparisonForPart(partId, null, null, false);
+        assertNull(request.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNull(request.getResponse().getHeader(HttpHeaders.VARY));
     }
-}
 
+    @Test
+    void testSuggestParts_Success() {
+        // Given
+        List<PartSuggestionDto> suggestions = List.of(
+            new PartSuggestionDto("WPW10123456", "Washer Drain Pump")
+        );
+        when(partSearchService.suggestParts("wpw", 5)).thenReturn(suggestions);
+
+        // When
+        List<PartSuggestionDto> result = partController.suggestParts("wpw", 5);
+
+        // Then
+        assertEquals(suggestions, result);
+        verify(partSearchService).suggestParts("wpw", 5);
+    }
+
+    @Test
+    void testComparePartsSuppliers_Batch() {
+        // Given
+        CompareRequest request = new CompareRequest();
+        request.setPartIds(List.of("WPW10123456"));
+        request.setSort(SortMode.CHEAPEST);
+        request.setTop(3);
+        when(partSearchService.getComparisonsForParts(List.of("WPW10123456"), SortMode.CHEAPEST, 3, false))
+            .thenReturn(List.of(testComparison));
+
+        // When
+        List<PartComparisonDto> result = partController.comparePartsSuppliers(request);
+
+        // Then
+        assertEquals(List.of(testComparison), result);
+        verify(partSearchService).getComparisonsForParts(List.of("WPW10123456"), SortMode.CHEAPEST, 3, false);
+    }
+
+    @Test
+    void testSearchParts_NotModifiedSkipsSearch() {
+        // Given
+        when(partSearchService.searchParts("WPW", null, null)).thenReturn(new PartSearchPageDto(List.of(testPart1), null));
+        String eTag = partController.searchParts("WPW", null, null, request()).getHeaders().getETag();
+        ServletWebRequest request = request(eTag);
+
+        // When
+        ResponseEntity<List<Part>> response = partController.searchParts("WPW", null, null, request);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(eTag, response.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+        verify(partSearchService, times(1)).searchParts("WPW", null, null);
+    }
+
+    @Test
+    void testSearchParts_EachEncodingHasItsOwnTag() {
+        // Given
+        when(partSearchService.searchParts("WPW", null, null)).thenReturn(new PartSearchPageDto(List.of(testPart1), null));
+        String jsonTag = partController.searchParts("WPW", null, null, request()).getHeaders().getETag();
+        ServletWebRequest cbor = request(jsonTag);
+        ((MockHttpServletRequest) cbor.getRequest()).addHeader(HttpHeaders.ACCEPT, "application/cbor");
+
+        // When
+        ResponseEntity<List<Part>> response = partController.searchParts("WPW", null, null, cbor);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(jsonTag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void testComparePartSuppliers_ETagMatchesUntilPartChanges() {
+        // Given
+        String partId = "WPW10123456";
+        when(partSearchService.getComparisonForPart(partId, null, null, false)).thenReturn(testComparison);
+        String eTag = partController.comparePartSuppliers(partId, null, null, false, request()).getHeaders().getETag();
+
+        // When
+        ResponseEntity<PartComparisonDto> unchanged = partController.comparePartSuppliers(partId, null, null, false, request(eTag));
+        comparisonCache.invalidate(partId);
+        ResponseEntity<PartComparisonDto> changed = partController.comparePartSuppliers(partId, null, null, false, request(eTag));
+
+        // Then
+        assertNotNull(eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(testComparison, changed.getBody());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+        verify(partSearchService, times(2)).getComparisonForPart(partId, null, null, false);
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/parts"), new MockHttpServletResponse());
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/parts");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -1,10 +1,15 @@
 package com.wgu.capstone.controller;
 
+import com.wgu.capstone.controller.dto.QuoteLineRequest;
+import com.wgu.capstone.controller.dto.SaveQuoteLinesRequest;
 import com.wgu.capstone.controller.dto.SaveQuoteRequest;
 import com.wgu.capstone.controller.dto.UpdateQuoteRequest;
 import com.wgu.capstone.entity.Order;
 import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.service.OrderStreamWriter;
 import com.wgu.capstone.service.QuoteService;
+import com.wgu.capstone.service.WireFormat;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +17,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,6 +36,9 @@ class QuoteControllerTest {
     @Mock
     private QuoteService quoteService;
 
+    @Mock
+    private OrderStreamWriter orderStreamWriter;
+
     @InjectMocks
     private QuoteController quoteController;
 
@@ -79,16 +91,17 @@ class QuoteControllerTest {
     @Test
     void testGetAllQuotes_Success() {
         // Given
-        List<Order> quotes = Arrays.asList(testOrder);
-        when(quoteService.getAllQuotes()).thenReturn(quotes);
+        OrderSummaryDto quote = new OrderSummaryDto(1L, OrderStatus.QUOTE, null, null,
+                10700L, 700L, false);
+        when(quoteService.getAllQuotes()).thenReturn(List.of(quote));
 
         // When
-        List<Order> result = quoteController.getAllQuotes();
+        List<OrderSummaryDto> result = quoteController.getAllQuotes();
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(testOrder, result.get(0));
+        assertEquals(quote, result.get(0));
         verify(quoteService).getAllQuotes();
     }
 
@@ -98,7 +111,7 @@ class QuoteControllerTest {
         when(quoteService.getAllQuotes()).thenReturn(List.of());
 
         // When
-        List<Order> result = quoteController.getAllQuotes();
+        List<OrderSummaryDto> result = quoteController.getAllQuotes();
 
         // Then
         assertNotNull(result);
@@ -106,6 +119,35 @@ class QuoteControllerTest {
         verify(quoteService).getAllQuotes();
     }
 
+    @Test
+    void testStreamAllQuotes_WritesSavedQuotesOnly() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = quoteController.streamAllQuotes(null);
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        verify(orderStreamWriter).writeByStatusAndIsCartItem(OrderStatus.QUOTE, false, WireFormat.JSON, out);
+        verifyNoInteractions(quoteService);
+    }
+
+    @Test
+    void testStreamAllQuotes_BinaryWhenRequested() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = quoteController.streamAllQuotes("application/cbor");
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        verify(orderStreamWriter).writeByStatusAndIsCartItem(OrderStatus.QUOTE, false, WireFormat.CBOR, out);
+    }
+
     @Test
     void testDeleteQuote_Success() {
         // Given
@@ -206,5 +248,23 @@ class QuoteControllerTest {
         );
         verify(quoteService).updateQuoteSupplier(orderId, 2L);
     }
-}
 
+    @Test
+    void testSaveQuoteLines_Success() {
+        // Given
+        SaveQuoteLinesRequest request = new SaveQuoteLinesRequest();
+        request.setLines(List.of(new QuoteLineRequest(1L, 2), new QuoteLineRequest(3L, 1)));
+        List<QuoteService.QuoteLine> lines = List.of(
+            new QuoteService.QuoteLine(1L, 2),
+            new QuoteService.QuoteLine(3L, 1)
+        );
+        when(quoteService.saveQuoteLines(lines, false)).thenReturn(testOrder);
+
+        // When
+        Order result = quoteController.saveQuoteLines(request);
+
+        // Then
+        assertEquals(testOrder, result);
+        verify(quoteService).saveQuoteLines(lines, false);
+    }
+}
@@ -0,0 +1,83 @@
+package com.wgu.capstone.controller;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.service.WireFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WireFormatNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper decimalReader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Binary decimals come back as BigDecimal, so read the JSON ones that way too
+        decimalReader = objectMapper.copy().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        mockMvc.perform(post("/quotes").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"partSupplierId\":1,\"quantity\":1,\"isCartItem\":false}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testListEndpoint_JsonUnlessBinaryRequested() throws Exception {
+        // When
+        byte[] json = fetch("/quotes", "*/*", MediaType.APPLICATION_JSON);
+        byte[] smile = fetch("/quotes", "application/x-jackson-smile", WireFormat.SMILE.getMediaType());
+        byte[] cbor = fetch("/quotes", "application/cbor", MediaType.APPLICATION_CBOR);
+
+        // Then
+        JsonNode expected = decimalReader.readTree(json);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, WireFormat.SMILE.mapperFrom(decimalReader).readTree(smile));
+        assertEquals(expected, WireFormat.CBOR.mapperFrom(decimalReader).readTree(cbor));
+    }
+
+    @Test
+    void testStreamedExport_WrittenInRequestedFormat() throws Exception {
+        // Given
+        JsonNode expected = decimalReader.readTree(fetch("/quotes", "application/json", MediaType.APPLICATION_JSON));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/quotes").param("stream", "true")
+                .header(HttpHeaders.ACCEPT, "application/x-jackson-smile"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(WireFormat.SMILE.getMediaType()))
+            .andReturn();
+
+        // Then
+        byte[] smile = result.getResponse().getContentAsByteArray();
+        assertEquals(expected, WireFormat.SMILE.mapperFrom(decimalReader).readTree(smile));
+    }
+
+    private byte[] fetch(String path, String accept, MediaType expected) throws Exception {
+        return mockMvc.perform(get(path)
+                .header(HttpHeaders.ACCEPT, accept))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(expected))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+}
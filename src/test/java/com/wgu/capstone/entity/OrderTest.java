@@ -0,0 +1,89 @@
+package com.wgu.capstone.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTest {
+
+    private final Part part = new Part("WPW10348269", "Washer Drain Pump");
+
+    @Test
+    void testAddItem_KeepsTotalsCurrent() {
+        // Given
+        Order order = new Order();
+
+        // When
+        order.addItem(new OrderItem(order, part, 2, new BigDecimal("50.00")));
+        order.addItem(new OrderItem(order, part, 2, new BigDecimal("40.00")));
+
+        // Then
+        assertEquals(new BigDecimal("12.60"), order.getTaxAmount());
+        assertEquals(new BigDecimal("192.60"), order.getTotalAmount());
+    }
+
+    @Test
+    void testSetUnitPrice_AdjustsOrderTotalsByDelta() {
+        // Given
+        Order order = new Order();
+        OrderItem item = new OrderItem(order, part, 3, new BigDecimal("50.00"));
+        order.addItem(item);
+
+        // When
+        item.setUnitPrice(new BigDecimal("55.00"));
+
+        // Then
+        assertEquals(new BigDecimal("55.00"), item.getUnitPrice());
+        assertEquals(new BigDecimal("176.55"), order.getTotalAmount()); // 165.00 * 1.07
+    }
+
+    @Test
+    void testSetUnitPrice_IgnoredForItemNotInOrder() {
+        // Given
+        Order order = new Order();
+        OrderItem kept = new OrderItem(order, part, 1, new BigDecimal("10.00"));
+        OrderItem removed = new OrderItem(order, part, 1, new BigDecimal("20.00"));
+        OrderItem neverAdded = new OrderItem(order, part, 1, new BigDecimal("30.00"));
+        order.addItem(kept);
+        order.addItem(removed);
+        order.removeItem(removed);
+
+        // When
+        removed.setUnitPrice(new BigDecimal("25.00"));
+        neverAdded.setUnitPrice(new BigDecimal("35.00"));
+
+        // Then
+        assertEquals(new BigDecimal("10.70"), order.getTotalAmount());
+    }
+
+    @Test
+    void testTax_RoundsHalfUpToCents() {
+        // Given
+        Order order = new Order();
+
+        // When - 7% of 0.50 is 0.035
+        order.addItem(new OrderItem(order, part, 1, new BigDecimal("0.50")));
+
+        // Then
+        assertEquals(new BigDecimal("0.04"), order.getTaxAmount());
+        assertEquals(new BigDecimal("0.54"), order.getTotalAmount());
+    }
+
+    @Test
+    void testRecalculateTotals_MatchesIncrementalTotals() {
+        // Given
+        Order order = new Order();
+        OrderItem item = new OrderItem(order, part, 4, new BigDecimal("19.99"));
+        order.addItem(item);
+        item.setUnitPrice(new BigDecimal("21.49"));
+        BigDecimal incremental = order.getTotalAmount();
+
+        // When
+        order.recalculateTotals();
+
+        // Then
+        assertEquals(incremental, order.getTotalAmount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.wgu.capstone.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void testGetConnection_WaitsForPermitThenTimesOut() throws Exception {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, 10);
+
+        // When
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Then
+        assertEquals(0, dataSource.getAvailablePermits());
+        SQLException ex = assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertTrue(ex.getMessage().startsWith("No database connection available within 10 ms"));
+
+        first.close();
+        assertNotNull(dataSource.getConnection());
+        verify(target, times(3)).getConnection();
+    }
+
+    @Test
+    void testClose_ReleasesPermitOnlyOnce() throws Exception {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 0);
+
+        // When
+        Connection held = dataSource.getConnection();
+        held.close();
+        held.close();
+
+        // Then
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void testGetConnection_ReleasesPermitWhenPoolFails() throws Exception {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 0);
+
+        // When/Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(target, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(target, 1, -1));
+    }
+}
@@ -0,0 +1,105 @@
+package com.wgu.capstone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void testRelease_SlowCompletionShrinksLimitOncePerInterval() throws InterruptedException {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 100);
+        long now = System.nanoTime();
+        limit.acquire(0);
+        limit.acquire(0);
+
+        // When
+        limit.release(2 * TARGET_NANOS, now);
+        limit.release(2 * TARGET_NANOS, now + 1);
+
+        // Then
+        assertEquals(9, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void testRelease_OnTimeCompletionsGrowLimitBackToMax() throws InterruptedException {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 100);
+        long now = System.nanoTime();
+        limit.acquire(0);
+        limit.release(2 * TARGET_NANOS, now);
+        assertEquals(9, limit.getLimit());
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 9; j++) {
+                limit.acquire(0);
+            }
+            for (int j = 0; j < 9; j++) {
+                limit.release(TARGET_NANOS / 10, now);
+            }
+        }
+
+        // Then
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void testAcquire_RefusedWithoutBudgetWhenFull() throws InterruptedException {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+        assertTrue(limit.acquire(0));
+
+        // When
+        boolean second = limit.acquire(TimeUnit.MILLISECONDS.toNanos(20));
+
+        // Then
+        assertFalse(second);
+        assertEquals(0, limit.getWaiting());
+    }
+
+    @Test
+    void testAcquire_RefusedAtOnceWhenQueueCannotClearInBudget() throws InterruptedException {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1000);
+        limit.acquire(0);
+        limit.release(TimeUnit.MILLISECONDS.toNanos(500), System.nanoTime());
+        limit.acquire(0);
+
+        // When
+        long start = System.nanoTime();
+        boolean admitted = limit.acquire(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertFalse(admitted);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void testAcquire_WaiterAdmittedWhenSlotFrees() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1000);
+        limit.acquire(0);
+        Thread releaser = new Thread(() -> {
+            while (limit.getWaiting() == 0) {
+                Thread.onSpinWait();
+            }
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1), System.nanoTime());
+        });
+        releaser.start();
+
+        // When
+        boolean admitted = limit.acquire(TimeUnit.SECONDS.toNanos(5));
+
+        // Then
+        releaser.join();
+        assertTrue(admitted);
+        assertEquals(1, limit.getInFlight());
+    }
+}
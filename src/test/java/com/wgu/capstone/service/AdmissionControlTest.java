@@ -0,0 +1,109 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.AdmissionControl.Endpoint;
+import com.wgu.capstone.service.AdmissionControl.Lane;
+import com.wgu.capstone.service.AdmissionControl.Permit;
+import com.wgu.capstone.service.AdmissionControl.Priority;
+import com.wgu.capstone.service.AdmissionControl.Rejected;
+import com.wgu.capstone.service.AdmissionControl.Settings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testAdmit_ClientOverRateGets429() {
+        // Given
+        AdmissionControl admissionControl = admissionControl(new Lane(10, 1000, 0), 0.01, 2);
+        admissionControl.admit(Endpoint.SEARCH, "10.0.0.1").close();
+        admissionControl.admit(Endpoint.COMPARE, "10.0.0.1").close();
+
+        // When
+        Rejected rejected = assertThrows(Rejected.class, () -> admissionControl.admit(Endpoint.SEARCH, "10.0.0.1"));
+
+        // Then
+        assertEquals(429, rejected.getStatus());
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, meterRegistry.get("admission.requests").tag("endpoint", "search")
+            .tag("result", "rate_limited").counter().count());
+        // Other clients and checkout are not affected
+        admissionControl.admit(Endpoint.SEARCH, "10.0.0.2").close();
+        admissionControl.admit(Endpoint.ORDER_TRANSITIONS, "10.0.0.1").close();
+    }
+
+    @Test
+    void testAdmit_OverLimitGets503() {
+        // Given
+        AdmissionControl admissionControl = admissionControl(new Lane(1, 1000, 0), 0, 1);
+        Permit permit = admissionControl.admit(Endpoint.SEARCH, "10.0.0.1");
+
+        // When
+        Rejected rejected = assertThrows(Rejected.class, () -> admissionControl.admit(Endpoint.SEARCH, "10.0.0.2"));
+        Permit quote = admissionControl.admit(Endpoint.QUOTES, "10.0.0.2");
+        permit.close();
+        Permit afterRelease = admissionControl.admit(Endpoint.SEARCH, "10.0.0.2");
+
+        // Then
+        assertEquals(503, rejected.getStatus());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertNotNull(quote);
+        assertNotNull(afterRelease);
+    }
+
+    @Test
+    void testAdmit_BrowsingYieldsWhileCheckoutWaits() throws Exception {
+        // Given
+        AdmissionControl admissionControl = admissionControl(new Lane(1, 1000, 5000), 0, 1);
+        Permit checkout = admissionControl.admit(Endpoint.ORDER_TRANSITIONS, "10.0.0.1");
+        CompletableFuture<Permit> waiting = CompletableFuture.supplyAsync(() ->
+            admissionControl.admit(Endpoint.ORDER_TRANSITIONS, "10.0.0.2"));
+        awaitGauge("admission.waiting", "order_transitions", 1);
+
+        // When
+        Rejected search = assertThrows(Rejected.class, () -> admissionControl.admit(Endpoint.SEARCH, "10.0.0.3"));
+        checkout.close();
+
+        // Then
+        assertEquals(503, search.getStatus());
+        assertEquals(1.0, meterRegistry.get("admission.requests").tag("endpoint", "search")
+            .tag("result", "yielded").counter().count());
+        waiting.get(5, TimeUnit.SECONDS).close();
+        admissionControl.admit(Endpoint.SEARCH, "10.0.0.3").close();
+    }
+
+    @Test
+    void testPermit_CloseIsIdempotent() {
+        // Given
+        AdmissionControl admissionControl = admissionControl(new Lane(1, 1000, 0), 0, 1);
+        Permit permit = admissionControl.admit(Endpoint.QUOTES, "10.0.0.1");
+
+        // When
+        permit.close();
+        permit.close();
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("admission.in.flight").tag("endpoint", "quotes").gauge().value());
+        assertEquals(1, admissionControl.getLimit(Endpoint.QUOTES));
+    }
+
+    private AdmissionControl admissionControl(Lane lane, double clientRate, int clientBurst) {
+        Map<Priority, Lane> lanes = Map.of(Priority.CRITICAL, lane, Priority.WRITE, lane, Priority.BROWSE, lane);
+        return new AdmissionControl(meterRegistry, new Settings(lanes, clientRate, clientBurst, 1));
+    }
+
+    private void awaitGauge(String name, String endpoint, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).tag("endpoint", endpoint).gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + name);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogVersionsTest {
+
+    private ComparisonCache comparisonCache;
+    private CatalogVersions catalogVersions;
+
+    @BeforeEach
+    void setUp() {
+        comparisonCache = new ComparisonCache(new SimpleMeterRegistry(), 10);
+        catalogVersions = new CatalogVersions(comparisonCache);
+    }
+
+    @Test
+    void testComparisonTag_ChangesWithItsPart() {
+        // Given
+        String before = catalogVersions.comparisonTag("WPW10123456");
+        String other = catalogVersions.comparisonTag("WPW10315885");
+
+        // When
+        comparisonCache.invalidate("WPW10123456");
+
+        // Then
+        assertNotEquals(before, catalogVersions.comparisonTag("WPW10123456"));
+        assertEquals(other, catalogVersions.comparisonTag("WPW10315885"));
+        assertEquals(catalogVersions.comparisonTag("WPW10123456"), catalogVersions.comparisonTag("WPW10123456"));
+    }
+
+    @Test
+    void testPartsChanged_ChangesSearchAndComparisonTags() {
+        // Given
+        String search = catalogVersions.searchTag();
+        String comparison = catalogVersions.comparisonTag("WPW10123456");
+
+        // When
+        catalogVersions.partsChanged();
+
+        // Then
+        assertNotEquals(search, catalogVersions.searchTag());
+        assertNotEquals(comparison, catalogVersions.comparisonTag("WPW10123456"));
+    }
+
+    @Test
+    void testTags_DifferAcrossRestarts() throws InterruptedException {
+        // Given
+        String before = catalogVersions.searchTag();
+        Thread.sleep(2);
+
+        // When
+        CatalogVersions restarted = new CatalogVersions(new ComparisonCache(new SimpleMeterRegistry(), 10));
+
+        // Then
+        assertNotEquals(before, restarted.searchTag());
+    }
+}
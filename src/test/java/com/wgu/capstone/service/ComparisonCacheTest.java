@@ -0,0 +1,107 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.dto.PartComparisonDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparisonCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ComparisonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ComparisonCache(meterRegistry, 2);
+    }
+
+    @Test
+    void testGetAndPut_RecordsHitsAndMisses() {
+        // Given
+        PartComparisonDto comparison = comparison("WPW10123456");
+
+        // When
+        assertNull(cache.get("WPW10123456", SortMode.CHEAPEST));
+        cache.put("WPW10123456", SortMode.CHEAPEST, comparison, cache.version("WPW10123456"));
+
+        // Then
+        assertSame(comparison, cache.get("WPW10123456", SortMode.CHEAPEST));
+        assertNull(cache.get("WPW10123456", SortMode.FASTEST_SHIPPING));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testInvalidate_RemovesAllSortModes() {
+        // Given
+        long version = cache.version("WPW10123456");
+        cache.put("WPW10123456", SortMode.CHEAPEST, comparison("WPW10123456"), version);
+        cache.put("WPW10123456", null, comparison("WPW10123456"), version);
+
+        // When
+        cache.invalidate("WPW10123456");
+
+        // Then
+        assertNull(cache.get("WPW10123456", SortMode.CHEAPEST));
+        assertNull(cache.get("WPW10123456", null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPut_DroppedWhenPartChangedWhileLoading() {
+        // Given
+        long loadedAt = cache.version("WPW10123456");
+        cache.invalidate("WPW10123456");
+
+        // When
+        cache.put("WPW10123456", null, comparison("WPW10123456"), loadedAt);
+
+        // Then
+        assertNull(cache.get("WPW10123456", null));
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        // Given
+        cache.put("A", null, comparison("A"), cache.version("A"));
+        cache.put("B", null, comparison("B"), cache.version("B"));
+        cache.get("A", null);
+
+        // When
+        cache.put("C", null, comparison("C"), cache.version("C"));
+
+        // Then
+        assertNotNull(cache.get("A", null));
+        assertNull(cache.get("B", null));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    @Test
+    void testPut_LargeCacheStaysWithinCapacityAcrossSegments() {
+        // Given
+        cache = new ComparisonCache(meterRegistry, 1000);
+
+        // When
+        for (int i = 0; i < 5000; i++) {
+            String partId = "P" + i;
+            cache.put(partId, SortMode.CHEAPEST, comparison(partId), cache.version(partId));
+        }
+        cache.invalidate("P4999");
+
+        // Then
+        assertTrue(cache.size() <= 1000);
+        assertTrue(cache.size() > 900);
+        assertNull(cache.get("P4999", SortMode.CHEAPEST));
+        assertNotNull(cache.get("P4998", SortMode.CHEAPEST));
+    }
+
+    private static PartComparisonDto comparison(String partId) {
+        return new PartComparisonDto(partId, "Part " + partId, List.of());
+    }
+}
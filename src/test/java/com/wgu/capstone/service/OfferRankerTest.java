@@ -0,0 +1,86 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.PartSearchService.SortMode;
+import com.wgu.capstone.service.dto.SupplierOptionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfferRankerTest {
+
+    private OfferRanker ranker;
+    private List<SupplierOptionDto> options;
+
+    @BeforeEach
+    void setUp() {
+        ranker = new OfferRanker(0.5, 0.3, 0.2);
+        options = List.of(
+            option(1L, "50.00", 12, 3),
+            option(2L, "55.00", 8, 5),
+            option(3L, "45.00", 0, 7),
+            option(4L, "57.50", 20, 2),
+            option(5L, "47.50", 10, 6)
+        );
+    }
+
+    @Test
+    void testRank_CheapestFullOrder() {
+        // When
+        List<SupplierOptionDto> result = ranker.rank(options, SortMode.CHEAPEST);
+
+        // Then
+        assertEquals(List.of(3L, 5L, 1L, 2L, 4L), ids(result));
+    }
+
+    @Test
+    void testRank_FastestShippingFullOrder() {
+        // When
+        List<SupplierOptionDto> result = ranker.rank(options, SortMode.FASTEST_SHIPPING);
+
+        // Then
+        assertEquals(List.of(4L, 1L, 2L, 5L, 3L), ids(result));
+    }
+
+    @Test
+    void testRank_BestValueUsesWeights() {
+        // Cost-only weights behave like CHEAPEST
+        OfferRanker costOnly = new OfferRanker(1.0, 0.0, 0.0);
+        assertEquals(List.of(3L, 5L), ids(costOnly.rank(options, SortMode.BEST_VALUE)).subList(0, 2));
+
+        // Stock-only weights favour the deepest stock
+        OfferRanker stockOnly = new OfferRanker(0.0, 0.0, 1.0);
+        assertEquals(List.of(4L, 1L), ids(stockOnly.rank(options, SortMode.BEST_VALUE)).subList(0, 2));
+    }
+
+    @Test
+    void testRank_TiesKeepOriginalOrder() {
+        // Given
+        List<SupplierOptionDto> tied = List.of(option(1L, "10.00", 1, 3), option(2L, "10.00", 1, 3), option(3L, "10.00", 1, 3));
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), ids(ranker.rank(tied, SortMode.CHEAPEST)));
+        assertEquals(List.of(1L, 2L, 3L), ids(ranker.rank(tied, SortMode.BEST_VALUE)));
+    }
+
+    @Test
+    void testRank_NullSortModeKeepsOrder() {
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(ranker.rank(options, null)));
+    }
+
+    @Test
+    void testConstructor_RejectsNegativeWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new OfferRanker(-0.1, 0.5, 0.5));
+    }
+
+    private static SupplierOptionDto option(Long id, String cost, int stock, int shipping) {
+        return new SupplierOptionDto(id, id, "Supplier " + id, new BigDecimal(cost), stock, shipping);
+    }
+
+    private static List<Long> ids(List<SupplierOptionDto> options) {
+        return options.stream().map(SupplierOptionDto::getPartSupplierId).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retry = new OptimisticLockRetry(meterRegistry, 3, 1, 2);
+    }
+
+    @Test
+    void testExecute_RetriesUntilSuccess() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = retry.execute("saveQuote", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "ok";
+        });
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("stock.update.conflicts").tag("operation", "saveQuote").counter().count());
+        assertEquals(2.0, meterRegistry.get("stock.update.retries").tag("operation", "saveQuote").counter().count());
+    }
+
+    @Test
+    void testExecute_GivesUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When/Then
+        assertThrows(OptimisticLockingFailureException.class, () ->
+            retry.run("deleteQuote", () -> {
+                calls.incrementAndGet();
+                throw new OptimisticLockingFailureException("conflict");
+            })
+        );
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("stock.update.retries.exhausted").tag("operation", "deleteQuote").counter().count());
+    }
+
+    @Test
+    void testExecute_DoesNotRetryOtherFailures() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () ->
+            retry.run("saveQuote", () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("Not enough stock");
+            })
+        );
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new OptimisticLockRetry(meterRegistry, 0, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new OptimisticLockRetry(meterRegistry, 3, 5, 2));
+    }
+}
@@ -0,0 +1,90 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.service.dto.OrderLineDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderReadModelTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderReadModel orderReadModel;
+
+    @Test
+    void testFindByStatusAndIsCartItem_AttachesLinesFromOneQuery() {
+        // Given
+        OrderSummaryDto first = summary(1L);
+        OrderSummaryDto second = summary(2L);
+        when(orderRepository.findSummariesByStatusAndIsCartItem(OrderStatus.QUOTE, false))
+            .thenReturn(List.of(first, second));
+        when(orderRepository.findLinesByOrderIdIn(any())).thenReturn(List.of(
+            line(1L, 10L, "WPW10123456"),
+            line(2L, 11L, "W10295370A"),
+            line(1L, 12L, "WP8544771")
+        ));
+
+        // When
+        List<OrderSummaryDto> result = orderReadModel.findByStatusAndIsCartItem(OrderStatus.QUOTE, false);
+
+        // Then
+        assertEquals(List.of(first, second), result);
+        assertEquals(2, first.getItems().size());
+        assertEquals("WPW10123456", first.getItems().get(0).getPart().partId());
+        assertEquals("AppliancePartsPros", first.getItems().get(0).getSupplierName());
+        assertEquals(1, second.getItems().size());
+        verify(orderRepository, times(1)).findLinesByOrderIdIn(any());
+        verify(orderRepository, never()).findByIdWithRelations(any());
+    }
+
+    @Test
+    void testFindByIds_KeepsRequestedOrderAndSkipsMissing() {
+        // Given
+        when(orderRepository.findSummariesByIdIn(List.of(3L, 9L, 1L)))
+            .thenReturn(List.of(summary(1L), summary(3L)));
+        when(orderRepository.findLinesByOrderIdIn(any())).thenReturn(List.of());
+
+        // When
+        List<OrderSummaryDto> result = orderReadModel.findByIds(List.of(3L, 9L, 1L));
+
+        // Then
+        assertEquals(List.of(3L, 1L), result.stream().map(OrderSummaryDto::getOrderId).toList());
+    }
+
+    @Test
+    void testFindByStatus_NoOrdersSkipsLineQuery() {
+        // Given
+        when(orderRepository.findSummariesByStatus(OrderStatus.NEW)).thenReturn(List.of());
+
+        // When
+        List<OrderSummaryDto> result = orderReadModel.findByStatus(OrderStatus.NEW);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(orderRepository, never()).findLinesByOrderIdIn(any());
+    }
+
+    private static OrderSummaryDto summary(Long orderId) {
+        return new OrderSummaryDto(orderId, OrderStatus.QUOTE, null, null,
+                10700L, 700L, false);
+    }
+
+    private static OrderLineDto line(Long orderId, Long orderItemId, String partId) {
+        return new OrderLineDto(orderId, orderItemId, partId, "Washer Drain Pump", 2,
+                5000L, 1L, "AppliancePartsPros");
+    }
+}
@@ -0,0 +1,217 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.repository.OrderRepository.OrderKey;
+import com.wgu.capstone.repository.OrderRepository.OrderStatusView;
+import com.wgu.capstone.service.OrderService.Transition;
+import com.wgu.capstone.service.dto.BulkOrderTransitionDto;
+import com.wgu.capstone.service.dto.OrderPageDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import com.wgu.capstone.service.dto.OrderTransitionResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderReadModel orderReadModel;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ServiceMetrics metrics = new ServiceMetrics(meterRegistry, new SlowOperationLog(300, 20));
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Test
+    void testTransitionOrders_ReportsPerOrderResults() {
+        // Given
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+            status(1L, OrderStatus.PROCESSING),
+            status(2L, OrderStatus.NEW),
+            status(4L, OrderStatus.PROCESSING)
+        ));
+        when(orderRepository.updateStatus(eq(List.of(1L, 4L)), eq(OrderStatus.PROCESSING),
+            eq(OrderStatus.COMPLETED), any())).thenReturn(2);
+
+        // When
+        BulkOrderTransitionDto result = orderService.transitionOrders(
+            Transition.COMPLETE, List.of(1L, 2L, 3L, 4L, 1L), null);
+
+        // Then
+        assertEquals(OrderStatus.COMPLETED, result.getTargetStatus());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        List<OrderTransitionResultDto> results = result.getResults();
+        assertEquals(List.of(1L, 2L, 3L, 4L), results.stream().map(OrderTransitionResultDto::getOrderId).toList());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("Only PROCESSING orders can be completed. Current status: NEW", results.get(1).getMessage());
+        assertEquals("Order not found: 3", results.get(2).getMessage());
+        assertTrue(results.get(3).isSuccess());
+        verify(orderRepository, never()).findByIdWithRelations(any());
+    }
+
+    @Test
+    void testTransitionOrders_CancelGroupsBySourceStatus() {
+        // Given
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+            status(1L, OrderStatus.QUOTE),
+            status(2L, OrderStatus.NEW),
+            status(3L, OrderStatus.CANCELED)
+        ));
+        when(orderRepository.updateStatus(eq(List.of(1L)), eq(OrderStatus.QUOTE), eq(OrderStatus.CANCELED), any()))
+            .thenReturn(1);
+        when(orderRepository.updateStatus(eq(List.of(2L)), eq(OrderStatus.NEW), eq(OrderStatus.CANCELED), any()))
+            .thenReturn(1);
+
+        // When
+        BulkOrderTransitionDto result = orderService.transitionOrders(Transition.CANCEL, List.of(1L, 2L, 3L), null);
+
+        // Then
+        assertEquals(3, result.getSucceeded()); // Already canceled counts as success
+        verify(orderRepository, times(2)).updateStatus(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("orders.transitions").tags("from", "QUOTE", "to", "CANCELED").counter().count());
+        assertEquals(1.0, meterRegistry.get("orders.transitions").tags("from", "NEW", "to", "CANCELED").counter().count());
+        assertTrue(meterRegistry.find("orders.transitions").tags("from", "CANCELED").counters().isEmpty());
+    }
+
+    @Test
+    void testTransitionOrders_ConcurrentChangeDetected() {
+        // Given
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L)))
+            .thenReturn(List.of(status(1L, OrderStatus.QUOTE), status(2L, OrderStatus.QUOTE)))
+            .thenReturn(List.of(status(1L, OrderStatus.NEW), status(2L, OrderStatus.CANCELED)));
+        when(orderRepository.updateStatus(any(), eq(OrderStatus.QUOTE), eq(OrderStatus.NEW), any())).thenReturn(1);
+
+        // When
+        BulkOrderTransitionDto result = orderService.transitionOrders(Transition.CHECKOUT, List.of(1L, 2L), null);
+
+        // Then
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertEquals("Order changed concurrently. Current status: CANCELED", result.getResults().get(1).getMessage());
+    }
+
+    @Test
+    void testTransitionOrders_ByStatusFilter() {
+        // Given
+        when(orderRepository.findIdsByStatus(eq(OrderStatus.NEW), any())).thenReturn(List.of(5L, 6L));
+        when(orderRepository.findStatusesByIdIn(List.of(5L, 6L)))
+            .thenReturn(List.of(status(5L, OrderStatus.NEW), status(6L, OrderStatus.NEW)));
+        when(orderRepository.updateStatus(eq(List.of(5L, 6L)), eq(OrderStatus.NEW), eq(OrderStatus.PROCESSING), any()))
+            .thenReturn(2);
+
+        // When
+        BulkOrderTransitionDto result = orderService.transitionOrders(Transition.PROCESS, null, OrderStatus.NEW);
+
+        // Then
+        assertEquals(2, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+    }
+
+    @Test
+    void testTransitionOrders_RequiresExactlyOneSelector() {
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.transitionOrders(Transition.COMPLETE, null, null)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.transitionOrders(Transition.COMPLETE, List.of(1L), OrderStatus.PROCESSING)
+        );
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testGetOrders_FirstPageLoadsOnlyPageIds() {
+        // Given
+        Instant t = Instant.parse("2026-01-15T12:00:00Z");
+        when(orderRepository.findPageKeys(any()))
+            .thenReturn(List.of(key(3L, t), key(2L, t), key(1L, t.minusSeconds(5))));
+        OrderSummaryDto third = summary(3L, t);
+        OrderSummaryDto second = summary(2L, t);
+        when(orderReadModel.findByIds(List.of(3L, 2L))).thenReturn(List.of(third, second));
+
+        // When
+        OrderPageDto page = orderService.getOrders(2, null);
+
+        // Then
+        assertEquals(List.of(third, second), page.getOrders());
+        assertNotNull(page.getNextCursor());
+        verify(orderRepository).findPageKeys(org.springframework.data.domain.Limit.of(3));
+    }
+
+    @Test
+    void testGetOrders_CursorContinuesAfterLastKey() {
+        // Given
+        Instant t = Instant.parse("2026-01-15T12:00:00Z");
+        when(orderRepository.findPageKeys(any())).thenReturn(List.of(key(3L, t), key(2L, t)));
+        when(orderReadModel.findByIds(List.of(3L))).thenReturn(List.of(summary(3L, t)));
+        String cursor = orderService.getOrders(1, null).getNextCursor();
+        when(orderRepository.findPageKeysBefore(eq(t), eq(3L), any())).thenReturn(List.of(key(2L, t)));
+        when(orderReadModel.findByIds(List.of(2L))).thenReturn(List.of(summary(2L, t)));
+
+        // When
+        OrderPageDto page = orderService.getOrders(1, cursor);
+
+        // Then
+        assertEquals(1, page.getOrders().size());
+        assertNull(page.getNextCursor()); // Last page
+    }
+
+    @Test
+    void testGetOrders_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrders(10, "not-a-cursor"));
+        verifyNoInteractions(orderRepository, orderReadModel);
+    }
+
+    private static OrderSummaryDto summary(Long orderId, Instant createdAt) {
+        return new OrderSummaryDto(orderId, OrderStatus.NEW, createdAt, createdAt,
+                0L, 0L, false);
+    }
+
+    private static OrderKey key(Long orderId, Instant createdAt) {
+        return new OrderKey() {
+            @Override
+            public Long getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public Instant getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+
+    private static OrderStatusView status(Long orderId, OrderStatus status) {
+        return new OrderStatusView() {
+            @Override
+            public Long getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.wgu.capstone.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.service.dto.OrderLineDto;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStreamWriterTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderStreamWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OrderStreamWriter(orderRepository, entityManager, objectMapper, transactionManager, 2);
+    }
+
+    @Test
+    void testWriteByStatus_WritesArrayInBatches() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(orderRepository.streamSummariesByStatus(OrderStatus.NEW))
+            .thenReturn(Stream.of(summary(1L), summary(2L), summary(3L)).onClose(() -> closed.set(true)));
+        when(orderRepository.findLinesByOrderIdIn(any())).thenAnswer(invocation ->
+            invocation.<Collection<Long>>getArgument(0).stream()
+                .map(orderId -> line(orderId, orderId * 10))
+                .toList());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.writeByStatus(OrderStatus.NEW, WireFormat.JSON, out);
+
+        // Then
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertEquals(3, json.size());
+        assertEquals(1L, json.get(0).get("orderId").asLong());
+        assertEquals(30L, json.get(2).get("items").get(0).get("orderItemId").asLong());
+        assertTrue(out.toString().contains("\"totalAmount\":107.00"));
+        verify(orderRepository, times(2)).findLinesByOrderIdIn(any());
+        verify(entityManager, times(2)).clear();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testWriteByStatusAndIsCartItem_MatchesListResponse() throws Exception {
+        // Given
+        when(orderRepository.streamSummariesByStatusAndIsCartItem(OrderStatus.QUOTE, true))
+            .thenReturn(Stream.of(summary(4L)));
+        when(orderRepository.findLinesByOrderIdIn(any())).thenReturn(List.of(line(4L, 40L)));
+        OrderSummaryDto expected = summary(4L);
+        expected.addItem(line(4L, 40L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.writeByStatusAndIsCartItem(OrderStatus.QUOTE, true, WireFormat.JSON, out);
+
+        // Then
+        assertEquals(objectMapper.writeValueAsString(List.of(expected)), out.toString());
+    }
+
+    @Test
+    void testWriteByStatus_BinaryFormatsCarrySameFields() throws Exception {
+        // Given
+        when(orderRepository.streamSummariesByStatus(OrderStatus.NEW))
+            .thenAnswer(invocation -> Stream.of(summary(1L), summary(2L), summary(3L)));
+        when(orderRepository.findLinesByOrderIdIn(any())).thenAnswer(invocation ->
+            invocation.<Collection<Long>>getArgument(0).stream()
+                .map(orderId -> line(orderId, orderId * 10))
+                .toList());
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        writer.writeByStatus(OrderStatus.NEW, WireFormat.JSON, json);
+        // Binary decimals come back as BigDecimal, so read the JSON ones that way too
+        ObjectMapper decimalReader = objectMapper.copy().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        for (WireFormat format : List.of(WireFormat.SMILE, WireFormat.CBOR)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            writer.writeByStatus(OrderStatus.NEW, format, out);
+
+            // Then
+            JsonNode decoded = format.mapperFrom(decimalReader).readTree(out.toByteArray());
+            assertEquals(decimalReader.readTree(json.toByteArray()), decoded, format.name());
+            assertTrue(out.size() < json.size(), format + " should be smaller than JSON");
+        }
+    }
+
+    @Test
+    void testWriteAll_NoOrdersWritesEmptyArray() {
+        // Given
+        when(orderRepository.streamSummaries()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.writeAll(WireFormat.JSON, out);
+
+        // Then
+        assertEquals("[]", out.toString());
+        verify(orderRepository, never()).findLinesByOrderIdIn(any());
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new OrderStreamWriter(orderRepository, entityManager, objectMapper, transactionManager, 0));
+    }
+
+    private static OrderSummaryDto summary(Long orderId) {
+        return new OrderSummaryDto(orderId, OrderStatus.NEW, null, null, 10700L, 700L, false);
+    }
+
+    private static OrderLineDto line(Long orderId, Long orderItemId) {
+        return new OrderLineDto(orderId, orderItemId, "WPW10348269", "Washer Drain Pump", 2,
+                5000L, 1L, "AppliancePartsPros");
+    }
+}
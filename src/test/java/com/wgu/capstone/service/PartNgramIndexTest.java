@@ -0,0 +1,148 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.Part;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartNgramIndexTest {
+
+    private PartNgramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PartNgramIndex();
+        index.rebuild(List.of(
+            new Part("WPW10123457", "Washer Door Lock"),
+            new Part("WPW10123456", "Washer Drain Pump"),
+            new Part("DA97-12609C", "Refrigerator Water Filter"),
+            new Part("WB27X10033", "Range Igniter")
+        ));
+    }
+
+    @Test
+    void testSearch_ByPartIdSubstringInPartIdOrder() {
+        // When
+        List<Part> result = index.search("1234", false, "", 10);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("WPW10123456", result.get(0).getPartId());
+        assertEquals("WPW10123457", result.get(1).getPartId());
+    }
+
+    @Test
+    void testSearch_ByNameIsCaseInsensitive() {
+        // When
+        List<Part> result = index.search("DOOR", true, "", 10);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("WPW10123457", result.get(0).getPartId());
+    }
+
+    @Test
+    void testSearch_NameOnlyExcludesIdMatches() {
+        // Given
+        index.index(new Part("WATER-1", "Water Inlet Hose"));
+
+        // When
+        List<Part> byId = index.search("water", false, "", 10);
+        List<Part> byName = index.search("water", true, "", 10);
+
+        // Then
+        assertEquals(1, byId.size());
+        assertEquals("WATER-1", byId.get(0).getPartId());
+        assertEquals(1, byName.size());
+        assertEquals("DA97-12609C", byName.get(0).getPartId());
+    }
+
+    @Test
+    void testSearch_AfterPartIdAndLimit() {
+        // When
+        List<Part> firstPage = index.search("wpw", false, "", 1);
+        List<Part> secondPage = index.search("wpw", false, "WPW10123456", 1);
+
+        // Then
+        assertEquals("WPW10123456", firstPage.get(0).getPartId());
+        assertEquals("WPW10123457", secondPage.get(0).getPartId());
+        assertTrue(index.search("wpw", false, "WPW10123457", 1).isEmpty());
+    }
+
+    @Test
+    void testSearch_ShortQueryFallsBackToScan() {
+        // When
+        List<Part> result = index.search("wb", false, "", 10);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("WB27X10033", result.get(0).getPartId());
+    }
+
+    @Test
+    void testSearch_TrigramsInBothFieldsAreVerified() {
+        // Candidates matching on trigrams from different fields must not be returned
+        assertTrue(index.search("456washer", false, "", 10).isEmpty());
+        assertTrue(index.search("456washer", true, "", 10).isEmpty());
+        assertTrue(index.search("nomatch", true, "", 10).isEmpty());
+    }
+
+    @Test
+    void testIndex_ReplacesExistingPart() {
+        // When
+        index.index(new Part("WB27X10033", "Range Spark Module"));
+
+        // Then
+        assertTrue(index.search("igniter", true, "", 10).isEmpty());
+        assertEquals(1, index.search("spark", true, "", 10).size());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRebuild_AppliesSavesBufferedBeforeFirstRebuild() {
+        // Given
+        PartNgramIndex fresh = new PartNgramIndex();
+        fresh.index(new Part("WPW10123456", "Washer Drain Pump Assembly"));
+        fresh.index(new Part("W10295370A", "Water Filter"));
+        fresh.remove("WB27X10033");
+
+        // When - the rebuild snapshot was read before those saves
+        fresh.rebuild(List.of(
+            new Part("WPW10123456", "Washer Drain Pump"),
+            new Part("WB27X10033", "Range Igniter")
+        ));
+
+        // Then
+        assertEquals(2, fresh.size());
+        assertEquals("Washer Drain Pump Assembly", fresh.findExact("WPW10123456").orElseThrow().getPartName());
+        assertTrue(fresh.findExact("W10295370A").isPresent());
+        assertTrue(fresh.findExact("WB27X10033").isEmpty());
+    }
+
+    @Test
+    void testIndex_IgnoredOutsideIndexSearchMode() {
+        // Given - REPOSITORY mode never rebuilds the index
+        PartNgramIndex unused = new PartNgramIndex(PartSearchService.SearchMode.REPOSITORY);
+
+        // When
+        unused.index(new Part("WPW10123456", "Washer Drain Pump"));
+        unused.remove("WB27X10033");
+        unused.rebuild(List.of());
+
+        // Then - nothing was buffered for a rebuild to replay
+        assertEquals(0, unused.size());
+    }
+
+    @Test
+    void testRemove() {
+        // When
+        index.remove("WPW10123456");
+
+        // Then
+        assertTrue(index.findExact("WPW10123456").isEmpty());
+        assertEquals(1, index.search("wpw", false, "", 10).size());
+    }
+}
@@ -6,20 +6,32 @@ import com.wgu.capstone.entity.Supplier;
 import com.wgu.capstone.repository.PartRepository;
 import com.wgu.capstone.repository.PartSupplierRepository;
 import com.wgu.capstone.service.dto.PartComparisonDto;
+import com.wgu.capstone.service.dto.PartSearchPageDto;
+import com.wgu.capstone.service.dto.PartSuggestionDto;
 import com.wgu.capstone.service.dto.SupplierOptionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +44,26 @@ class PartSearchServiceTest {
     @Mock
     private PartSupplierRepository partSupplierRepository;
 
+    @Mock
+    private PartNgramIndex partNgramIndex;
+
+    @Mock
+    private PartSuggestIndex partSuggestIndex;
+
+    @Mock
+    private ComparisonCache comparisonCache;
+
+    @Spy
+    private OfferRanker offerRanker = new OfferRanker(0.5, 0.3, 0.2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ServiceMetrics metrics = new ServiceMetrics(meterRegistry, new SlowOperationLog(300, 20));
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(meterRegistry, true, 2000);
+
     @InjectMocks
     private PartSearchService partSearchService;
 
@@ -59,8 +91,8 @@ class PartSearchServiceTest {
         assertEquals(1, result.size());
         assertEquals(testPart, result.get(0));
         verify(partRepository).findById(query);
-        verify(partRepository, never()).findByPartIdContainingIgnoreCase(anyString());
-        verify(partRepository, never()).findByPartNameContainingIgnoreCase(anyString());
+        verify(partRepository, never()).findIdMatchesAfter(anyString(), anyString(), any());
+        verify(partRepository, never()).findNameOnlyMatchesAfter(anyString(), anyString(), any());
     }
 
     @Test
@@ -71,8 +103,8 @@ class PartSearchServiceTest {
         Part part2 = new Part("WPW10315885", "Washer Agitator");
         
         when(partRepository.findById(query)).thenReturn(Optional.empty());
-        when(partRepository.findByPartIdContainingIgnoreCase(query)).thenReturn(Arrays.asList(part1, part2));
-        when(partRepository.findByPartNameContainingIgnoreCase(query)).thenReturn(List.of());
+        when(partRepository.findIdMatchesAfter("%wpw%", "", Limit.of(51))).thenReturn(Arrays.asList(part1, part2));
+        when(partRepository.findNameOnlyMatchesAfter("%wpw%", "", Limit.of(49))).thenReturn(List.of());
 
         // When
         List<Part> result = partSearchService.searchParts(query);
@@ -83,6 +115,25 @@ class PartSearchServiceTest {
         assertTrue(result.contains(part2));
     }
 
+    @Test
+    void testSearchParts_CountsHitsAndMisses() {
+        // Given
+        when(partRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(partRepository.findIdMatchesAfter(anyString(), anyString(), any())).thenReturn(List.of());
+        when(partRepository.findNameOnlyMatchesAfter("%washer%", "", Limit.of(51))).thenReturn(List.of(testPart));
+        when(partRepository.findNameOnlyMatchesAfter("%nothing%", "", Limit.of(51))).thenReturn(List.of());
+
+        // When
+        partSearchService.searchParts("Washer");
+        partSearchService.searchParts("Nothing");
+        partSearchService.searchParts("Washer");
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("search.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("search.requests").tag("result", "miss").counter().count());
+        assertEquals(3, meterRegistry.get("service.operations").tag("operation", "searchParts").timer().count());
+    }
+
     @Test
     void testSearchParts_PartialMatchByName() {
         // Given
@@ -91,8 +142,8 @@ class PartSearchServiceTest {
         Part part2 = new Part("WPW10315885", "Washer Agitator");
         
         when(partRepository.findById(query)).thenReturn(Optional.empty());
-        when(partRepository.findByPartIdContainingIgnoreCase(query)).thenReturn(List.of());
-        when(partRepository.findByPartNameContainingIgnoreCase(query)).thenReturn(Arrays.asList(part1, part2));
+        when(partRepository.findIdMatchesAfter("%washer%", "", Limit.of(51))).thenReturn(List.of());
+        when(partRepository.findNameOnlyMatchesAfter("%washer%", "", Limit.of(51))).thenReturn(Arrays.asList(part1, part2));
 
         // When
         List<Part> result = partSearchService.searchParts(query);
@@ -110,8 +161,8 @@ class PartSearchServiceTest {
         Part part1 = new Part("WPW10123456", "Washer Drain Pump");
         
         when(partRepository.findById(query)).thenReturn(Optional.empty());
-        when(partRepository.findByPartIdContainingIgnoreCase(query)).thenReturn(List.of(part1));
-        when(partRepository.findByPartNameContainingIgnoreCase(query)).thenReturn(List.of(part1));
+        when(partRepository.findIdMatchesAfter("%wpw%", "", Limit.of(51))).thenReturn(List.of(part1));
+        when(partRepository.findNameOnlyMatchesAfter("%wpw%", "", Limit.of(50))).thenReturn(List.of());
 
         // When
         List<Part> result = partSearchService.searchParts(query);
@@ -119,6 +170,8 @@ class PartSearchServiceTest {
         // Then
         assertEquals(1, result.size()); // Should not have duplicates
         assertEquals(part1, result.get(0));
+        // ID matches are excluded from the name query itself
+        verify(partRepository).findNameOnlyMatchesAfter("%wpw%", "", Limit.of(50));
     }
 
     @Test
@@ -262,5 +315,340 @@ class PartSearchServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getOptions().size());
     }
-}
 
+    @Test
+    void testSearchParts_UsesIndexWhenReady() {
+        // Given
+        PartNgramIndex index = new PartNgramIndex();
+        index.rebuild(List.of(
+            new Part("WPW10123456", "Washer Drain Pump"),
+            new Part("DA97-12609C", "Refrigerator Water Filter")
+        ));
+        PartSearchService indexedService = new PartSearchService(
+            partRepository, partSupplierRepository, index, partSuggestIndex, comparisonCache, offerRanker, metrics, singleFlight, PartSearchService.SearchMode.INDEX, null, null
+        );
+
+        // When
+        List<Part> result = indexedService.searchParts("water");
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("DA97-12609C", result.get(0).getPartId());
+        verifyNoInteractions(partRepository);
+    }
+
+    @Test
+    void testSearchParts_RepositoryModeIgnoresIndex() {
+        // Given
+        String query = "Washer";
+        PartNgramIndex index = new PartNgramIndex();
+        index.rebuild(List.of(testPart));
+        PartSearchService repositoryService = new PartSearchService(
+            partRepository, partSupplierRepository, index, partSuggestIndex, comparisonCache, offerRanker, metrics, singleFlight, PartSearchService.SearchMode.REPOSITORY, null, null
+        );
+        when(partRepository.findById(query)).thenReturn(Optional.empty());
+        when(partRepository.findIdMatchesAfter("%washer%", "", Limit.of(51))).thenReturn(List.of());
+        when(partRepository.findNameOnlyMatchesAfter("%washer%", "", Limit.of(51))).thenReturn(List.of(testPart));
+
+        // When
+        List<Part> result = repositoryService.searchParts(query);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(partRepository).findNameOnlyMatchesAfter("%washer%", "", Limit.of(51));
+    }
+
+    @Test
+    void testSuggestParts_ClampsLimit() {
+        // Given
+        when(partSuggestIndex.suggest("da97", 50)).thenReturn(List.of(testPart));
+
+        // When
+        List<PartSuggestionDto> result = partSearchService.suggestParts("da97", 500);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("WPW10123456", result.get(0).getPartId());
+        verify(partSuggestIndex).suggest("da97", 50);
+    }
+
+    @Test
+    void testSuggestParts_BlankPrefix() {
+        // When
+        List<PartSuggestionDto> result = partSearchService.suggestParts("  ", null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(partSuggestIndex);
+    }
+
+    @Test
+    void testSearchParts_PagesWithCursor() {
+        // Given
+        String query = "WPW";
+        Part part1 = new Part("WPW10123456", "Washer Drain Pump");
+        Part part2 = new Part("WPW10315885", "Washer Agitator");
+        Part part3 = new Part("WPW10999999", "Washer Lid");
+        when(partRepository.findById(query)).thenReturn(Optional.empty());
+        when(partRepository.findIdMatchesAfter("%wpw%", "", Limit.of(3)))
+            .thenReturn(Arrays.asList(part1, part2, part3));
+        when(partRepository.findIdMatchesAfter("%wpw%", "WPW10315885", Limit.of(3)))
+            .thenReturn(List.of(part3));
+        when(partRepository.findNameOnlyMatchesAfter("%wpw%", "", Limit.of(2)))
+            .thenReturn(List.of());
+
+        // When
+        PartSearchPageDto first = partSearchService.searchParts(query, 2, null);
+        PartSearchPageDto second = partSearchService.searchParts(query, 2, first.getNextCursor());
+
+        // Then
+        assertEquals(List.of(part1, part2), first.getParts());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of(part3), second.getParts());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testSearchParts_LimitIsCapped() {
+        // Given
+        String query = "WPW";
+        when(partRepository.findById(query)).thenReturn(Optional.empty());
+
+        // When
+        partSearchService.searchParts(query, 10_000, null);
+
+        // Then
+        verify(partRepository).findIdMatchesAfter("%wpw%", "", Limit.of(201));
+    }
+
+    @Test
+    void testSearchParts_EscapesLikeWildcards() {
+        // Given
+        String query = "50%_off";
+        when(partRepository.findById(query)).thenReturn(Optional.empty());
+
+        // When
+        partSearchService.searchParts(query);
+
+        // Then
+        verify(partRepository).findIdMatchesAfter("%50!%!_off%", "", Limit.of(51));
+    }
+
+    @Test
+    void testSearchParts_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () ->
+            partSearchService.searchParts("WPW", null, "not a cursor!")
+        );
+    }
+
+    @Test
+    void testSearchParts_IndexModePagesByPartId() {
+        // Given
+        PartNgramIndex index = new PartNgramIndex();
+        index.rebuild(List.of(
+            new Part("WPW3", "Washer Pump"),
+            new Part("WPW1", "Washer Door"),
+            new Part("XYZ1", "Washer Belt"),
+            new Part("WPW2", "Washer Hose")
+        ));
+        PartSearchService indexedService = new PartSearchService(
+            partRepository, partSupplierRepository, index, partSuggestIndex, comparisonCache, offerRanker, metrics, singleFlight, PartSearchService.SearchMode.INDEX, null, null
+        );
+
+        // When
+        PartSearchPageDto first = indexedService.searchParts("washer", 2, null);
+        PartSearchPageDto second = indexedService.searchParts("washer", 2, first.getNextCursor());
+        PartSearchPageDto third = indexedService.searchParts("wpw", 2, null);
+
+        // Then
+        assertEquals(List.of("WPW1", "WPW2"), first.getParts().stream().map(Part::getPartId).toList());
+        assertEquals(List.of("WPW3", "XYZ1"), second.getParts().stream().map(Part::getPartId).toList());
+        assertNull(second.getNextCursor());
+        assertEquals(List.of("WPW1", "WPW2"), third.getParts().stream().map(Part::getPartId).toList());
+        assertNotNull(third.getNextCursor());
+        verifyNoInteractions(partRepository);
+    }
+
+    @Test
+    void testGetComparisonsForParts_SingleQueryGroupedByPart() {
+        // Given
+        Part otherPart = new Part("DA97-12609C", "Refrigerator Water Filter");
+        PartSupplier ps1 = new PartSupplier(testSupplier, testPart, new BigDecimal("55.00"), 12);
+        PartSupplier ps2 = new PartSupplier(new Supplier("RepairClinic", 5), testPart, new BigDecimal("50.00"), 8);
+        PartSupplier ps3 = new PartSupplier(testSupplier, otherPart, new BigDecimal("35.00"), 4);
+        when(partSupplierRepository.findByPartIdsWithRelations(any()))
+            .thenReturn(Arrays.asList(ps1, ps3, ps2));
+
+        // When
+        List<PartComparisonDto> result = partSearchService.getComparisonsForParts(
+            List.of("DA97-12609C", "WPW10123456", "DA97-12609C"),
+            PartSearchService.SortMode.CHEAPEST
+        );
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("DA97-12609C", result.get(0).getPartId());
+        assertEquals(1, result.get(0).getOptions().size());
+        assertEquals("WPW10123456", result.get(1).getPartId());
+        assertEquals(new BigDecimal("50.00"), result.get(1).getOptions().get(0).getPartCost());
+        verify(partSupplierRepository).findByPartIdsWithRelations(any());
+        verifyNoInteractions(partRepository);
+    }
+
+    @Test
+    void testGetComparisonsForParts_PartWithoutOffers() {
+        // Given
+        when(partSupplierRepository.findByPartIdsWithRelations(any())).thenReturn(List.of());
+        when(partRepository.findAllById(List.of("WPW10123456"))).thenReturn(List.of(testPart));
+
+        // When
+        List<PartComparisonDto> result = partSearchService.getComparisonsForParts(List.of("WPW10123456"), null);
+
+        // Then
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getOptions().isEmpty());
+    }
+
+    @Test
+    void testGetComparisonsForParts_UnknownPart() {
+        // Given
+        when(partSupplierRepository.findByPartIdsWithRelations(any())).thenReturn(List.of());
+        when(partRepository.findAllById(List.of("INVALID"))).thenReturn(List.of());
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () ->
+            partSearchService.getComparisonsForParts(List.of("INVALID"), null)
+        );
+    }
+
+    @Test
+    void testGetComparisonsForParts_EmptyRequest() {
+        assertThrows(IllegalArgumentException.class, () ->
+            partSearchService.getComparisonsForParts(List.of(), null)
+        );
+        verifyNoInteractions(partSupplierRepository);
+    }
+
+    @Test
+    void testGetComparisonForPart_ServedFromCache() {
+        // Given
+        String partId = "WPW10123456";
+        PartComparisonDto cached = new PartComparisonDto(partId, "Washer Drain Pump", List.of());
+        when(comparisonCache.get(partId, PartSearchService.SortMode.CHEAPEST)).thenReturn(cached);
+
+        // When
+        PartComparisonDto result = partSearchService.getComparisonForPart(partId, PartSearchService.SortMode.CHEAPEST);
+
+        // Then
+        assertSame(cached, result);
+        verifyNoInteractions(partRepository, partSupplierRepository);
+    }
+
+    @Test
+    void testGetComparisonForPart_MissPopulatesCacheAtLoadVersion() {
+        // Given
+        String partId = "WPW10123456";
+        when(comparisonCache.version(partId)).thenReturn(7L);
+        when(partRepository.findById(partId)).thenReturn(Optional.of(testPart));
+        when(partSupplierRepository.findByPart_PartId(partId)).thenReturn(List.of(testPartSupplier));
+
+        // When
+        PartComparisonDto result = partSearchService.getComparisonForPart(partId, null);
+
+        // Then
+        verify(comparisonCache).put(partId, null, result, 7L);
+    }
+
+    @Test
+    void testGetComparisonForPart_InvalidationDuringLoadIsNotJoined() throws Exception {
+        // Given - a leader is loading the comparison when a quote commits and invalidates the part
+        String partId = "WPW10123456";
+        ComparisonCache realCache = new ComparisonCache(meterRegistry, 100);
+        PartSearchService service = new PartSearchService(
+            partRepository, partSupplierRepository, partNgramIndex, partSuggestIndex, realCache, offerRanker, metrics,
+            new SingleFlight(meterRegistry, true, 10_000), PartSearchService.SearchMode.INDEX, null, null
+        );
+        PartSupplier afterQuote = new PartSupplier(testSupplier, testPart, new BigDecimal("50.00"), 0);
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(partRepository.findById(partId)).thenReturn(Optional.of(testPart));
+        when(partSupplierRepository.findByPart_PartId(partId)).thenAnswer(invocation -> {
+            if (loads.getAndIncrement() == 0) {
+                leaderLoading.countDown();
+                releaseLeader.await();
+                return List.of(testPartSupplier);
+            }
+            return List.of(afterQuote);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PartComparisonDto> leader = executor.submit(() -> service.getComparisonForPart(partId, null));
+            assertTrue(leaderLoading.await(5, TimeUnit.SECONDS));
+            realCache.invalidate(partId);
+
+            // When
+            Future<PartComparisonDto> follower = executor.submit(() -> service.getComparisonForPart(partId, null));
+
+            // Then - the follower loads post-commit stock instead of waiting for the leader
+            assertEquals(0, follower.get(5, TimeUnit.SECONDS).getOptions().get(0).getNumInStock());
+            releaseLeader.countDown();
+            assertEquals(12, leader.get(5, TimeUnit.SECONDS).getOptions().get(0).getNumInStock());
+            assertEquals(0, realCache.get(partId, null).getOptions().get(0).getNumInStock());
+        } finally {
+            releaseLeader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetComparisonsForParts_OnlyQueriesCacheMisses() {
+        // Given
+        PartComparisonDto cached = new PartComparisonDto("DA97-12609C", "Refrigerator Water Filter", List.of());
+        when(comparisonCache.get("DA97-12609C", null)).thenReturn(cached);
+        when(partSupplierRepository.findByPartIdsWithRelations(java.util.Set.of("WPW10123456")))
+            .thenReturn(List.of(testPartSupplier));
+
+        // When
+        List<PartComparisonDto> result = partSearchService.getComparisonsForParts(
+            List.of("DA97-12609C", "WPW10123456"), null
+        );
+
+        // Then
+        assertEquals(2, result.size());
+        assertSame(cached, result.get(0));
+        assertEquals("WPW10123456", result.get(1).getPartId());
+    }
+
+    @Test
+    void testGetComparisonForPart_BestValueTopInStockOnly() {
+        // Given
+        String partId = "WPW10123456";
+        PartSupplier cheapNoStock = new PartSupplier(new Supplier("Cheap", 5), testPart, new BigDecimal("40.00"), 0);
+        PartSupplier balanced = new PartSupplier(new Supplier("Balanced", 3), testPart, new BigDecimal("45.00"), 20);
+        PartSupplier pricey = new PartSupplier(new Supplier("Pricey", 2), testPart, new BigDecimal("60.00"), 5);
+        when(partRepository.findById(partId)).thenReturn(Optional.of(testPart));
+        when(partSupplierRepository.findByPart_PartId(partId)).thenReturn(Arrays.asList(cheapNoStock, pricey, balanced));
+
+        // When
+        PartComparisonDto result = partSearchService.getComparisonForPart(
+            partId, PartSearchService.SortMode.BEST_VALUE, 1, true
+        );
+
+        // Then
+        assertEquals(1, result.getOptions().size());
+        assertEquals("Balanced", result.getOptions().get(0).getSupplierName());
+    }
+
+    @Test
+    void testGetComparisonForPart_InvalidTop() {
+        // Given
+        String partId = "WPW10123456";
+        when(partRepository.findById(partId)).thenReturn(Optional.of(testPart));
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () ->
+            partSearchService.getComparisonForPart(partId, null, 0, false)
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.Part;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartSuggestIndexTest {
+
+    private PartSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PartSuggestIndex();
+        index.rebuild(List.of(
+            new Part("DA97-12609C", "Refrigerator Water Filter"),
+            new Part("DA97-12610A", "Refrigerator Door Gasket"),
+            new Part("DC97-14486A", "Dryer Heating Element"),
+            new Part("WD21X10029", "Dishwasher Heating Element")
+        ));
+    }
+
+    @Test
+    void testSuggest_IgnoresCaseAndDashes() {
+        // When
+        List<Part> result = index.suggest("da97-126", 10);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("DA97-12609C", result.get(0).getPartId());
+        assertEquals("DA97-12610A", result.get(1).getPartId());
+        assertEquals(2, index.suggest("DA9712", 10).size());
+    }
+
+    @Test
+    void testSuggest_MatchesNameWords() {
+        // When
+        List<Part> result = index.suggest("heat", 10);
+
+        // Then
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void testSuggest_PartNumbersRankBeforeNameWords() {
+        // Given
+        index.index(new Part("D-100", "Door Hinge"));
+
+        // When
+        List<Part> result = index.suggest("d", 10);
+
+        // Then
+        assertEquals("D-100", result.get(0).getPartId());
+        assertEquals(5, result.size());
+    }
+
+    @Test
+    void testSuggest_RespectsLimit() {
+        assertEquals(1, index.suggest("d", 1).size());
+        assertTrue(index.suggest("d", 0).isEmpty());
+        assertTrue(index.suggest("--", 10).isEmpty());
+    }
+
+    @Test
+    void testIndexAndRemove_AreVisibleBeforeRebuild() {
+        // When
+        index.index(new Part("DA97-12609C", "Refrigerator Ice Filter"));
+        index.remove("DC97-14486A");
+
+        // Then
+        assertEquals("Refrigerator Ice Filter", index.suggest("ice", 10).get(0).getPartName());
+        assertTrue(index.suggest("water", 10).isEmpty());
+        assertTrue(index.suggest("dc97", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggest_NameHitsAlreadyMatchedByNumberDoNotShortenResult() {
+        // Given
+        PartSuggestIndex fresh = new PartSuggestIndex();
+        fresh.rebuild(List.of(
+            new Part("HEAT-1", "Heater Element"),
+            new Part("X-2", "Heat Shield"),
+            new Part("X-3", "Heating Coil")
+        ));
+
+        // When
+        List<Part> result = fresh.suggest("heat", 3);
+
+        // Then
+        assertEquals(List.of("HEAT-1", "X-2", "X-3"), result.stream().map(Part::getPartId).toList());
+    }
+
+    @Test
+    void testIndex_FoldsLargeOverlayWithoutLosingSaves() {
+        // Given
+        for (int i = 0; i < 1500; i++) {
+            index.index(new Part(String.format("ZZ%05d", i), "Bulk Part"));
+        }
+
+        // When
+        index.remove("ZZ00000");
+        index.index(new Part("DA97-12609C", "Refrigerator Ice Filter"));
+
+        // Then
+        assertTrue(index.suggest("zz00000", 10).isEmpty());
+        assertEquals("ZZ00001", index.suggest("zz00001", 10).get(0).getPartId());
+        assertEquals(1499, index.suggest("bulk", 2000).size());
+        assertEquals("Refrigerator Ice Filter", index.suggest("ice", 10).get(0).getPartName());
+    }
+
+    @Test
+    void testRebuild_KeepsSavesMadeBeforeFirstRebuild() {
+        // Given
+        PartSuggestIndex fresh = new PartSuggestIndex();
+        fresh.index(new Part("DA97-12609C", "Refrigerator Ice Filter"));
+
+        // When
+        fresh.rebuild(List.of(new Part("DA97-12609C", "Refrigerator Water Filter")));
+
+        // Then
+        assertTrue(fresh.suggest("water", 10).isEmpty());
+        assertEquals("Refrigerator Ice Filter", fresh.suggest("ice", 10).get(0).getPartName());
+    }
+}
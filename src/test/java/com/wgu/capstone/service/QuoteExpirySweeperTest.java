@@ -0,0 +1,173 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.entity.enums.OrderStatus;
+import com.wgu.capstone.repository.OrderRepository;
+import com.wgu.capstone.repository.OrderRepository.ReservedStock;
+import com.wgu.capstone.repository.PartSupplierRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteExpirySweeperTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T12:00:00Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PartSupplierRepository partSupplierRepository;
+
+    @Mock
+    private ComparisonCache comparisonCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<SortedMap<Long, Integer>> quantitiesCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QuoteExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = sweeper(Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void testExpireQuotes_ReleasesStockGroupedBySupplier() {
+        // Given
+        Instant cutoff = NOW.minus(Duration.ofHours(1));
+        when(orderRepository.findIdsByStatusUpdatedBefore(eq(OrderStatus.QUOTE), eq(cutoff), any()))
+            .thenReturn(List.of(1L));
+        when(orderRepository.sumReservedStock(List.of(1L)))
+            .thenReturn(List.of(reserved(9L, "WPW10123456", 3), reserved(4L, "W10295370A", 1)));
+        when(orderRepository.deleteByIdsAndStatusUpdatedBefore(List.of(1L), OrderStatus.QUOTE, cutoff)).thenReturn(1);
+
+        // When
+        int expired = sweeper.expireQuotes();
+
+        // Then
+        assertEquals(1, expired);
+        verify(partSupplierRepository).releaseStockBatch(quantitiesCaptor.capture());
+        assertEquals(List.of(4L, 9L), List.copyOf(quantitiesCaptor.getValue().keySet()));
+        assertEquals(3, quantitiesCaptor.getValue().get(9L));
+        verify(orderRepository).deleteItemsOfOrdersUpdatedBefore(List.of(1L), OrderStatus.QUOTE, cutoff);
+        verify(comparisonCache).invalidate("WPW10123456");
+        verify(comparisonCache).invalidate("W10295370A");
+        assertEquals(1.0, meterRegistry.get("quotes.expired").counter().count());
+    }
+
+    @Test
+    void testExpireQuotes_SweepsInBatchesUntilShortBatch() {
+        // Given
+        when(orderRepository.findIdsByStatusUpdatedBefore(eq(OrderStatus.QUOTE), any(), any()))
+            .thenReturn(List.of(1L, 2L))
+            .thenReturn(List.of(3L));
+        when(orderRepository.deleteByIdsAndStatusUpdatedBefore(any(), eq(OrderStatus.QUOTE), any()))
+            .thenReturn(2)
+            .thenReturn(1);
+
+        // When
+        int expired = sweeper.expireQuotes();
+
+        // Then
+        assertEquals(3, expired);
+        verify(orderRepository, times(2)).findIdsByStatusUpdatedBefore(any(), any(), any());
+        verify(partSupplierRepository, never()).releaseStockBatch(any()); // No items held stock
+    }
+
+    @Test
+    void testExpireQuotes_RollsBackWhenQuoteChangedMidSweep() {
+        // Given
+        when(orderRepository.findIdsByStatusUpdatedBefore(eq(OrderStatus.QUOTE), any(), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(orderRepository.sumReservedStock(any())).thenReturn(List.of(reserved(9L, "WPW10123456", 2)));
+        when(orderRepository.deleteByIdsAndStatusUpdatedBefore(any(), eq(OrderStatus.QUOTE), any())).thenReturn(1);
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> sweeper.expireQuotes());
+        verify(partSupplierRepository, never()).releaseStockBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testExpireQuotes_RollsBackWhenSupplierSwappedBetweenSumAndDelete() {
+        // Given
+        Instant cutoff = NOW.minus(Duration.ofHours(1));
+        when(orderRepository.findIdsByStatusUpdatedBefore(eq(OrderStatus.QUOTE), eq(cutoff), any()))
+            .thenReturn(List.of(1L, 2L));
+        Instant[] quote2UpdatedAt = {cutoff.minusSeconds(60)};
+        when(orderRepository.sumReservedStock(List.of(1L, 2L))).thenAnswer(invocation -> {
+            // Quote 2 moves from offer 9 to offer 4 right after the sums are read
+            quote2UpdatedAt[0] = NOW;
+            return List.of(reserved(9L, "WPW10123456", 2));
+        });
+        when(orderRepository.deleteByIdsAndStatusUpdatedBefore(List.of(1L, 2L), OrderStatus.QUOTE, cutoff))
+            .thenAnswer(invocation -> quote2UpdatedAt[0].isBefore(cutoff) ? 2 : 1);
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> sweeper.expireQuotes());
+        verify(partSupplierRepository, never()).releaseStockBatch(any());
+        verify(transactionManager).rollback(any());
+        verify(comparisonCache, never()).invalidate(any());
+    }
+
+    @Test
+    void testExpireQuotes_DisabledWithZeroTtl() {
+        // Given
+        sweeper = sweeper(Duration.ZERO, 2);
+
+        // When
+        int expired = sweeper.expireQuotes();
+
+        // Then
+        assertEquals(0, expired);
+        verifyNoInteractions(orderRepository, partSupplierRepository);
+    }
+
+    private QuoteExpirySweeper sweeper(Duration ttl, int batchSize) {
+        return new QuoteExpirySweeper(orderRepository, partSupplierRepository, comparisonCache,
+                transactionManager, meterRegistry, ttl, batchSize, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static ReservedStock reserved(Long partSupplierId, String partId, long quantity) {
+        return new ReservedStock() {
+            @Override
+            public Long getPartSupplierId() {
+                return partSupplierId;
+            }
+
+            @Override
+            public String getPartId() {
+                return partId;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -4,22 +4,28 @@ import com.wgu.capstone.entity.*;
 import com.wgu.capstone.entity.enums.OrderStatus;
 import com.wgu.capstone.repository.OrderRepository;
 import com.wgu.capstone.repository.PartSupplierRepository;
+import com.wgu.capstone.service.dto.OrderSummaryDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.Captor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.SortedMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +37,22 @@ class QuoteServiceTest {
     @Mock
     private PartSupplierRepository partSupplierRepository;
 
-    @InjectMocks
+    @Mock
+    private ComparisonCache comparisonCache;
+
+    @Mock
+    private OrderReadModel orderReadModel;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<SortedMap<Long, Integer>> quantitiesCaptor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ServiceMetrics metrics = new ServiceMetrics(meterRegistry, new SlowOperationLog(300, 20));
+
     private QuoteService quoteService;
 
     private Part testPart;
@@ -42,6 +63,8 @@ class QuoteServiceTest {
 
     @BeforeEach
     void setUp() {
+        quoteService = quoteService(QuoteService.StockUpdateMode.ATOMIC);
+
         testPart = new Part("WPW10123456", "Washer Drain Pump");
         testSupplier = new Supplier("AppliancePartsPros", 3);
         testPartSupplier = new PartSupplier(testSupplier, testPart, new BigDecimal("50.00"), 12);
@@ -66,16 +89,13 @@ class QuoteServiceTest {
         // (setUp() reduced it to 10 for other tests that use existing testOrder)
         testPartSupplier.setNumInStock(12);
         
+        when(partSupplierRepository.reserveStock(partSupplierId, quantity)).thenReturn(1);
         when(partSupplierRepository.findByIdWithRelations(partSupplierId))
             .thenReturn(Optional.of(testPartSupplier));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             return order;
         });
-        when(partSupplierRepository.save(any(PartSupplier.class))).thenAnswer(invocation -> {
-            PartSupplier ps = invocation.getArgument(0);
-            return ps;
-        });
 
         // When
         Order result = quoteService.saveQuote(partSupplierId, quantity, false);
@@ -87,10 +107,11 @@ class QuoteServiceTest {
         assertEquals(1, result.getItems().size());
         assertEquals(quantity, result.getItems().get(0).getQuantity());
         assertEquals(new BigDecimal("50.00"), result.getItems().get(0).getUnitPrice());
-        assertEquals(10, testPartSupplier.getNumInStock()); // 12 - 2 = 10
         
+        // Stock is reserved by a single conditional update, not by saving the entity
+        verify(partSupplierRepository).reserveStock(partSupplierId, quantity);
         verify(partSupplierRepository).findByIdWithRelations(partSupplierId);
-        verify(partSupplierRepository).save(testPartSupplier);
+        verify(partSupplierRepository, never()).save(any());
         verify(orderRepository).save(any(Order.class));
     }
 
@@ -104,6 +125,7 @@ class QuoteServiceTest {
         assertThrows(IllegalArgumentException.class, () -> 
             quoteService.saveQuote(partSupplierId, quantity, false)
         );
+        verify(partSupplierRepository, never()).reserveStock(any(), anyInt());
         verify(partSupplierRepository, never()).findByIdWithRelations(any());
     }
 
@@ -117,6 +139,7 @@ class QuoteServiceTest {
         assertThrows(IllegalArgumentException.class, () -> 
             quoteService.saveQuote(partSupplierId, quantity, false)
         );
+        verify(partSupplierRepository, never()).reserveStock(any(), anyInt());
         verify(partSupplierRepository, never()).findByIdWithRelations(any());
     }
 
@@ -130,6 +153,7 @@ class QuoteServiceTest {
         assertThrows(IllegalArgumentException.class, () -> 
             quoteService.saveQuote(partSupplierId, quantity, false)
         );
+        verify(partSupplierRepository, never()).reserveStock(any(), anyInt());
         verify(partSupplierRepository, never()).findByIdWithRelations(any());
     }
 
@@ -154,6 +178,7 @@ class QuoteServiceTest {
         Long partSupplierId = 1L;
         Integer quantity = 20; // More than available (12)
         
+        when(partSupplierRepository.reserveStock(partSupplierId, quantity)).thenReturn(0);
         when(partSupplierRepository.findByIdWithRelations(partSupplierId))
             .thenReturn(Optional.of(testPartSupplier));
 
@@ -165,22 +190,40 @@ class QuoteServiceTest {
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void testSaveQuote_RecordsReservationMetrics() {
+        // Given
+        when(partSupplierRepository.reserveStock(1L, 2)).thenReturn(1);
+        when(partSupplierRepository.reserveStock(1L, 20)).thenReturn(0);
+        when(partSupplierRepository.findByIdWithRelations(1L)).thenReturn(Optional.of(testPartSupplier));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        quoteService.saveQuote(1L, 2, false);
+        assertThrows(IllegalStateException.class, () -> quoteService.saveQuote(1L, 20, false));
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("stock.reservations").tag("result", "reserved").counter().count());
+        assertEquals(1.0, meterRegistry.get("stock.reservations").tag("result", "insufficient_stock").counter().count());
+        assertEquals(1, meterRegistry.get("service.operations").tag("operation", "saveQuote")
+            .tag("exception", "none").timer().count());
+        assertEquals(1, meterRegistry.get("service.operations").tag("operation", "saveQuote")
+            .tag("exception", "IllegalStateException").timer().count());
+    }
+
     @Test
     void testSaveQuote_AsCartItem() {
         // Given
         Long partSupplierId = 1L;
         Integer quantity = 2;
         
+        when(partSupplierRepository.reserveStock(partSupplierId, quantity)).thenReturn(1);
         when(partSupplierRepository.findByIdWithRelations(partSupplierId))
             .thenReturn(Optional.of(testPartSupplier));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             return order;
         });
-        when(partSupplierRepository.save(any(PartSupplier.class))).thenAnswer(invocation -> {
-            PartSupplier ps = invocation.getArgument(0);
-            return ps;
-        });
 
         // When
         Order result = quoteService.saveQuote(partSupplierId, quantity, true);
@@ -198,16 +241,13 @@ class QuoteServiceTest {
         Long partSupplierId = 1L;
         Integer quantity = 2;
         
+        when(partSupplierRepository.reserveStock(partSupplierId, quantity)).thenReturn(1);
         when(partSupplierRepository.findByIdWithRelations(partSupplierId))
             .thenReturn(Optional.of(testPartSupplier));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             return order;
         });
-        when(partSupplierRepository.save(any(PartSupplier.class))).thenAnswer(invocation -> {
-            PartSupplier ps = invocation.getArgument(0);
-            return ps;
-        });
 
         // When
         Order result = quoteService.saveQuote(partSupplierId, quantity, false);
@@ -222,16 +262,18 @@ class QuoteServiceTest {
     @Test
     void testGetAllQuotes() {
         // Given
-        List<Order> quotes = Arrays.asList(testOrder);
-        when(orderRepository.findByStatusAndIsCartItem(OrderStatus.QUOTE, false)).thenReturn(quotes);
+        OrderSummaryDto quote = new OrderSummaryDto(1L, OrderStatus.QUOTE, Instant.now(), Instant.now(),
+                10700L, 700L, false);
+        when(orderReadModel.findByStatusAndIsCartItem(OrderStatus.QUOTE, false)).thenReturn(List.of(quote));
 
         // When
-        List<Order> result = quoteService.getAllQuotes();
+        List<OrderSummaryDto> result = quoteService.getAllQuotes();
 
         // Then
         assertEquals(1, result.size());
-        assertEquals(testOrder, result.get(0));
-        verify(orderRepository).findByStatusAndIsCartItem(OrderStatus.QUOTE, false);
+        assertEquals(quote, result.get(0));
+        verify(orderReadModel).findByStatusAndIsCartItem(OrderStatus.QUOTE, false);
+        verifyNoInteractions(orderRepository); // No entity graphs loaded
     }
 
     @Test
@@ -251,17 +293,13 @@ class QuoteServiceTest {
         
         when(orderRepository.findByIdWithRelations(orderId))
             .thenReturn(Optional.of(testOrder));
-        when(partSupplierRepository.findByIdWithRelations(partSupplierId))
-            .thenReturn(Optional.of(testPartSupplier));
-        when(partSupplierRepository.save(any(PartSupplier.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         quoteService.deleteQuote(orderId);
 
         // Then
-        assertEquals(12, testPartSupplier.getNumInStock()); // Stock restored
-        verify(partSupplierRepository).save(testPartSupplier);
+        verify(partSupplierRepository).releaseStock(partSupplierId, 2); // Stock restored in one UPDATE
+        verify(partSupplierRepository, never()).save(any());
         verify(orderRepository).delete(testOrder);
     }
 
@@ -320,14 +358,10 @@ class QuoteServiceTest {
             .thenReturn(Optional.of(testOrder));
         when(partSupplierRepository.findByIdWithRelations(newPartSupplierId))
             .thenReturn(Optional.of(newPartSupplier));
-        when(partSupplierRepository.findByIdWithRelations(oldPartSupplierId))
-            .thenReturn(Optional.of(testPartSupplier));
+        when(partSupplierRepository.reserveStock(newPartSupplierId, 2)).thenReturn(1);
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> 
             invocation.getArgument(0)
         );
-        when(partSupplierRepository.save(any(PartSupplier.class))).thenAnswer(invocation -> 
-            invocation.getArgument(0)
-        );
 
         // When
         Order result = quoteService.updateQuoteSupplier(orderId, newPartSupplierId);
@@ -336,11 +370,11 @@ class QuoteServiceTest {
         assertNotNull(result);
         assertEquals(newPartSupplier, testOrderItem.getSelectedSupplier());
         assertEquals(new BigDecimal("55.00"), testOrderItem.getUnitPrice());
-        assertEquals(12, testPartSupplier.getNumInStock()); // Old stock restored (10 + 2 = 12)
-        assertEquals(8, newPartSupplier.getNumInStock()); // New stock reduced (10 - 2 = 8)
         
-        verify(partSupplierRepository).save(testPartSupplier);
-        verify(partSupplierRepository).save(newPartSupplier);
+        // New supplier reserved and old supplier released with conditional updates
+        verify(partSupplierRepository).reserveStock(newPartSupplierId, 2);
+        verify(partSupplierRepository).releaseStock(oldPartSupplierId, 2);
+        verify(partSupplierRepository, never()).save(any());
         verify(orderRepository).save(testOrder);
     }
 
@@ -415,11 +449,14 @@ class QuoteServiceTest {
             .thenReturn(Optional.of(testOrder));
         when(partSupplierRepository.findByIdWithRelations(newPartSupplierId))
             .thenReturn(Optional.of(newPartSupplier));
+        when(partSupplierRepository.reserveStock(newPartSupplierId, 2)).thenReturn(0);
 
         // When/Then
         assertThrows(IllegalStateException.class, () -> 
             quoteService.updateQuoteSupplier(orderId, newPartSupplierId)
         );
+        verify(partSupplierRepository, never()).releaseStock(any(), anyInt());
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
@@ -439,5 +476,165 @@ class QuoteServiceTest {
             quoteService.updateQuoteSupplier(orderId, newPartSupplierId)
         );
     }
-}
 
+    @Test
+    void testSaveQuote_InvalidatesCachedComparisons() {
+        // Given
+        Long partSupplierId = 1L;
+        when(partSupplierRepository.reserveStock(partSupplierId, 2)).thenReturn(1);
+        when(partSupplierRepository.findByIdWithRelations(partSupplierId))
+            .thenReturn(Optional.of(testPartSupplier));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When (no transaction active, so the invalidation runs immediately)
+        quoteService.saveQuote(partSupplierId, 2, false);
+
+        // Then
+        verify(comparisonCache).invalidate("WPW10123456");
+    }
+
+    @Test
+    void testSaveQuote_OptimisticMode_UpdatesVersionedEntity() {
+        // Given
+        quoteService = quoteService(QuoteService.StockUpdateMode.OPTIMISTIC);
+        Long partSupplierId = 1L;
+        testPartSupplier.setNumInStock(12);
+        when(partSupplierRepository.findByIdWithRelations(partSupplierId))
+            .thenReturn(Optional.of(testPartSupplier));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        quoteService.saveQuote(partSupplierId, 2, false);
+
+        // Then
+        assertEquals(10, testPartSupplier.getNumInStock());
+        verify(partSupplierRepository).save(testPartSupplier);
+        verify(partSupplierRepository, never()).reserveStock(any(), anyInt());
+    }
+
+    @Test
+    void testSaveQuote_OptimisticMode_RetriesAfterConflict() {
+        // Given
+        quoteService = quoteService(QuoteService.StockUpdateMode.OPTIMISTIC);
+        Long partSupplierId = 1L;
+        testPartSupplier.setNumInStock(12);
+        when(partSupplierRepository.findByIdWithRelations(partSupplierId))
+            .thenReturn(Optional.of(testPartSupplier));
+        when(orderRepository.save(any(Order.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(PartSupplier.class, partSupplierId))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Order result = quoteService.saveQuote(partSupplierId, 2, false);
+
+        // Then
+        assertNotNull(result);
+        verify(orderRepository, times(2)).save(any(Order.class));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testDeleteQuote_OptimisticMode_RestocksEntity() {
+        // Given
+        quoteService = quoteService(QuoteService.StockUpdateMode.OPTIMISTIC);
+        when(orderRepository.findByIdWithRelations(1L)).thenReturn(Optional.of(testOrder));
+
+        // When
+        quoteService.deleteQuote(1L);
+
+        // Then
+        assertEquals(12, testPartSupplier.getNumInStock()); // 10 + 2
+        verify(partSupplierRepository).save(testPartSupplier);
+        verify(partSupplierRepository, never()).releaseStock(any(), anyInt());
+        verify(orderRepository).delete(testOrder);
+    }
+
+    @Test
+    void testSaveQuoteLines_ReservesAllLinesInIdOrder() {
+        // Given
+        PartSupplier first = withId(testPartSupplier, 7L);
+        PartSupplier second = withId(new PartSupplier(new Supplier("RepairClinic", 5), testPart, new BigDecimal("40.00"), 8), 3L);
+        List<QuoteService.QuoteLine> lines = List.of(
+            new QuoteService.QuoteLine(7L, 1),
+            new QuoteService.QuoteLine(3L, 2),
+            new QuoteService.QuoteLine(7L, 1)
+        );
+        when(partSupplierRepository.reserveStockBatch(any())).thenReturn(List.of());
+        when(partSupplierRepository.findAllByIdWithRelations(any())).thenReturn(List.of(second, first));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Order result = quoteService.saveQuoteLines(lines, false);
+
+        // Then
+        verify(partSupplierRepository).reserveStockBatch(quantitiesCaptor.capture());
+        assertEquals(List.of(3L, 7L), List.copyOf(quantitiesCaptor.getValue().keySet())); // Deterministic lock order
+        assertEquals(2, quantitiesCaptor.getValue().get(7L)); // Duplicate lines merged
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(first, result.getItems().get(0).getSelectedSupplier()); // Request order kept
+        assertEquals(2, result.getItems().get(0).getQuantity());
+        assertEquals(second, result.getItems().get(1).getSelectedSupplier());
+        assertEquals(new BigDecimal("192.60"), result.getTotalAmount()); // (2*50 + 2*40) * 1.07
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(partSupplierRepository, never()).reserveStock(any(), anyInt());
+    }
+
+    @Test
+    void testSaveQuoteLines_InsufficientStockOnAnyLine() {
+        // Given
+        PartSupplier first = withId(testPartSupplier, 1L);
+        when(partSupplierRepository.reserveStockBatch(any())).thenReturn(List.of(1L));
+        when(partSupplierRepository.findAllByIdWithRelations(any())).thenReturn(List.of(first));
+
+        // When/Then
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+            quoteService.saveQuoteLines(List.of(new QuoteService.QuoteLine(1L, 50)), false)
+        );
+        assertTrue(ex.getMessage().contains("Not enough stock"));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testSaveQuoteLines_UnknownPartSupplier() {
+        // Given
+        when(partSupplierRepository.reserveStockBatch(any())).thenReturn(List.of(99L));
+        when(partSupplierRepository.findAllByIdWithRelations(any())).thenReturn(List.of());
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () ->
+            quoteService.saveQuoteLines(List.of(new QuoteService.QuoteLine(99L, 1)), false)
+        );
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testSaveQuoteLines_InvalidLines() {
+        assertThrows(IllegalArgumentException.class, () -> quoteService.saveQuoteLines(List.of(), false));
+        assertThrows(IllegalArgumentException.class, () ->
+            quoteService.saveQuoteLines(List.of(new QuoteService.QuoteLine(1L, 0)), false)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            quoteService.saveQuoteLines(List.of(new QuoteService.QuoteLine(null, 1)), false)
+        );
+        verify(partSupplierRepository, never()).reserveStockBatch(any());
+    }
+
+    private static PartSupplier withId(PartSupplier partSupplier, Long partSupplierId) {
+        try {
+            java.lang.reflect.Field idField = PartSupplier.class.getDeclaredField("partSupplierId");
+            idField.setAccessible(true);
+            idField.set(partSupplier, partSupplierId);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set partSupplierId for test", e);
+        }
+        return partSupplier;
+    }
+
+    private QuoteService quoteService(QuoteService.StockUpdateMode stockUpdateMode) {
+        OptimisticLockRetry retry = new OptimisticLockRetry(new SimpleMeterRegistry(), 3, 0, 0);
+        return new QuoteService(orderRepository, partSupplierRepository, comparisonCache,
+                orderReadModel, retry, transactionManager, metrics, stockUpdateMode);
+    }
+}
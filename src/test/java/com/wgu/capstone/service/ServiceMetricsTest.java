@@ -0,0 +1,44 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new ServiceMetrics(meterRegistry, new SlowOperationLog(300, 20));
+    }
+
+    @Test
+    void testTime_RecordsErrorsUnderTheirOwnTag() {
+        // When
+        assertThrows(StackOverflowError.class, () -> metrics.time("quote", "create", () -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals("ok", metrics.time("quote", "create", () -> "ok"));
+
+        // Then
+        assertEquals(1, meterRegistry.get("service.operations").tag("exception", "StackOverflowError").timer().count());
+        assertEquals(1, meterRegistry.get("service.operations").tag("exception", "none").timer().count());
+    }
+
+    @Test
+    void testIncrement_ReusesCounterPerNameAndTags() {
+        // When
+        metrics.increment("search.requests", "result", "hit");
+        metrics.increment("search.requests", 2, "result", "hit");
+        metrics.increment("search.requests", "result", "miss");
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("search.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("search.requests").tag("result", "miss").counter().count());
+    }
+}
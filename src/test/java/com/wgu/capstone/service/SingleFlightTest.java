@@ -0,0 +1,174 @@
+package com.wgu.capstone.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneLoad() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("comparison", "WPW10123456", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        awaitFollowers(4);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("singleflight.calls").tag("result", "leader").counter().count());
+        assertEquals(4.0, meterRegistry.get("singleflight.calls").tag("result", "shared").counter().count());
+        assertEquals(0.8, meterRegistry.get("singleflight.collapse.ratio").tag("name", "comparison").gauge().value());
+    }
+
+    @Test
+    void testExecute_FollowersShareLeaderException() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("comparison", "missing", () -> {
+            await(release);
+            throw new IllegalArgumentException("Part not found: missing");
+        }));
+        awaitLeader();
+
+        // When
+        Future<Object> follower = executor.submit(() ->
+            singleFlight.execute("comparison", "missing", () -> fail("follower must not load")));
+        awaitFollowers(1);
+        release.countDown();
+
+        // Then
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, leaderError.getCause());
+        assertSame(leaderError.getCause(), followerError.getCause());
+    }
+
+    @Test
+    void testExecute_FollowerLoadsItselfAfterMaxWait() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("search", "washer", () -> {
+            await(release);
+            return "slow";
+        }));
+        awaitLeader();
+
+        // When
+        String follower = singleFlight.execute("search", "washer", () -> "own");
+        release.countDown();
+
+        // Then
+        assertEquals("own", follower);
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("singleflight.calls").tag("result", "timed_out").counter().count());
+    }
+
+    @Test
+    void testExecute_SequentialCallsEachLoad() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, 5000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("search", "washer", loads::incrementAndGet);
+        singleFlight.execute("search", "washer", loads::incrementAndGet);
+        singleFlight.execute("comparison", "washer", loads::incrementAndGet);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testExecute_DisabledAlwaysLoads() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, false, 5000);
+
+        // When
+        String result = singleFlight.execute("search", "washer", () -> "loaded");
+
+        // Then
+        assertEquals("loaded", result);
+        assertNull(meterRegistry.find("singleflight.calls").counter());
+    }
+
+    private void awaitLeader() throws InterruptedException {
+        awaitCount("leader", 1);
+    }
+
+    // Followers are only counted once they return, so look for threads parked on the in-flight future
+    private void awaitFollowers(int followers) throws InterruptedException {
+        awaitLeader();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && waitingThreads() < followers) {
+            Thread.sleep(5);
+        }
+    }
+
+    private long waitingThreads() {
+        return Thread.getAllStackTraces().entrySet().stream()
+            .filter(entry -> entry.getKey().getName().startsWith("pool-"))
+            .filter(entry -> entry.getKey().getState() == Thread.State.TIMED_WAITING)
+            .filter(entry -> Arrays.stream(entry.getValue())
+                .anyMatch(frame -> frame.getClassName().equals(CompletableFuture.class.getName())))
+            .count();
+    }
+
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var counter = meterRegistry.find("singleflight.calls").tag("result", result).counter();
+            if (counter != null && counter.count() >= expected) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        fail("Timed out waiting for " + result);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.wgu.capstone.service;
+
+import com.wgu.capstone.service.dto.SlowOperationsDto;
+import com.wgu.capstone.service.dto.SlowOperationsDto.OperationDto;
+import com.wgu.capstone.service.dto.SlowOperationsDto.SampleDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowOperationLogTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    private final SlowOperationLog log = new SlowOperationLog(Duration.ofSeconds(100), 3, clock);
+
+    @Test
+    void testSnapshot_SummarizesOperationsSlowestFirst() {
+        // Given
+        log.record("quote.saveQuote", 10 * MS);
+        log.record("quote.saveQuote", 30 * MS);
+        log.record("partSearch.searchParts", 5 * MS);
+
+        // When
+        SlowOperationsDto snapshot = log.snapshot();
+
+        // Then
+        assertEquals(100, snapshot.getWindowSeconds());
+        List<OperationDto> operations = snapshot.getOperations();
+        assertEquals(List.of("quote.saveQuote", "partSearch.searchParts"),
+            operations.stream().map(OperationDto::getOperation).toList());
+        assertEquals(2, operations.get(0).getCount());
+        assertEquals(20.0, operations.get(0).getMeanMs());
+        assertEquals(30.0, operations.get(0).getMaxMs());
+    }
+
+    @Test
+    void testSnapshot_KeepsOnlyTopSamplesAcrossBuckets() {
+        // Given
+        log.record("a", 1 * MS);
+        log.record("b", 9 * MS);
+        clock.advance(Duration.ofSeconds(10));
+        log.record("c", 5 * MS);
+        log.record("d", 7 * MS);
+        log.record("e", 2 * MS);
+
+        // When
+        List<SampleDto> slowest = log.snapshot().getSlowest();
+
+        // Then
+        assertEquals(List.of("b", "d", "c"), slowest.stream().map(SampleDto::getOperation).toList());
+        assertEquals(Instant.parse("2026-01-01T00:00:00Z"), slowest.get(0).getFinishedAt());
+    }
+
+    @Test
+    void testSnapshot_ForgetsOperationsOutsideWindow() {
+        // Given
+        log.record("old", 50 * MS);
+        clock.advance(Duration.ofSeconds(95));
+        log.record("recent", 1 * MS);
+
+        // When
+        SlowOperationsDto before = log.snapshot();
+        clock.advance(Duration.ofSeconds(10));
+        SlowOperationsDto after = log.snapshot();
+
+        // Then
+        assertEquals(2, before.getOperations().size());
+        assertEquals(List.of("recent"), after.getOperations().stream().map(OperationDto::getOperation).toList());
+        assertEquals(List.of("recent"), after.getSlowest().stream().map(SampleDto::getOperation).toList());
+    }
+
+    @Test
+    void testRecord_ReusesBucketAfterWindowWrapsAround() {
+        // Given
+        log.record("old", 50 * MS);
+        clock.advance(Duration.ofSeconds(100));
+
+        // When
+        log.record("new", 1 * MS);
+
+        // Then
+        SlowOperationsDto snapshot = log.snapshot();
+        assertEquals(List.of("new"), snapshot.getOperations().stream().map(OperationDto::getOperation).toList());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowOperationLog(Duration.ofMillis(5), 3, clock));
+        assertThrows(IllegalArgumentException.class, () -> new SlowOperationLog(Duration.ofSeconds(60), 0, clock));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.wgu.capstone.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    @Test
+    void testForAccept_DefaultsToJson() {
+        assertEquals(WireFormat.JSON, WireFormat.forAccept(null));
+        assertEquals(WireFormat.JSON, WireFormat.forAccept("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.forAccept("application/*"));
+        assertEquals(WireFormat.JSON, WireFormat.forAccept("text/csv"));
+        assertEquals(WireFormat.JSON, WireFormat.forAccept("not a media type"));
+    }
+
+    @Test
+    void testForAccept_PicksRequestedBinaryFormat() {
+        assertEquals(WireFormat.CBOR, WireFormat.forAccept("application/cbor"));
+        assertEquals(WireFormat.SMILE, WireFormat.forAccept("application/x-jackson-smile"));
+        // An exact type outranks a wildcard with the same q-value
+        assertEquals(WireFormat.CBOR, WireFormat.forAccept("*/*, application/cbor"));
+    }
+
+    @Test
+    void testForAccept_HonorsQualityValues() {
+        assertEquals(WireFormat.JSON, WireFormat.forAccept("application/cbor;q=0.5, application/json"));
+        assertEquals(WireFormat.SMILE, WireFormat.forAccept("application/json;q=0.8, application/x-jackson-smile"));
+        assertEquals(WireFormat.SMILE, WireFormat.forAccept("application/*, application/json;q=0"));
+    }
+}